@@ -0,0 +1,40 @@
+package com.uniflow.benchmark;
+
+import com.uniflow.UniversityManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Démarre l'application sans serveur web, configurée par benchmark.properties
+ * (chaque clé surchargeable par une propriété système).
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkContext.class.getResourceAsStream("/benchmark.properties")) {
+            if (in == null) {
+                throw new IllegalStateException("benchmark.properties not found on the classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read benchmark.properties", e);
+        }
+
+        List<String> args = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            args.add("--" + key + "=" + System.getProperty(key, properties.getProperty(key)));
+        }
+        return new SpringApplicationBuilder(UniversityManagementApplication.class)
+                .run(args.toArray(String[]::new));
+    }
+}
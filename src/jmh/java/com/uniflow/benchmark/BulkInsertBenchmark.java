@@ -0,0 +1,110 @@
+package com.uniflow.benchmark;
+
+import com.uniflow.model.Enrollment;
+import com.uniflow.model.Grade;
+import com.uniflow.model.Module;
+import com.uniflow.model.Student;
+import com.uniflow.model.Teacher;
+import com.uniflow.repository.EnrollmentRepository;
+import com.uniflow.repository.ModuleRepository;
+import com.uniflow.repository.StudentRepository;
+import com.uniflow.repository.TeacherRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insertions en masse par JPA : un module, puis une inscription et une note par étudiant.
+ * {@code jdbcBatchSize = 0} désactive les lots JDBC (un aller-retour par ligne),
+ * {@code 50} correspond à la configuration de l'application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final String BATCH_SIZE_PROPERTY = "spring.jpa.properties.hibernate.jdbc.batch_size";
+
+    @Param({"0", "50"})
+    public int jdbcBatchSize;
+
+    @Param({"1000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private ModuleRepository moduleRepository;
+    private EnrollmentRepository enrollmentRepository;
+    private StudentRepository studentRepository;
+    private TeacherRepository teacherRepository;
+    private UniversityFixture.Size size;
+    private int moduleCounter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty(BATCH_SIZE_PROPERTY, String.valueOf(jdbcBatchSize));
+        context = BenchmarkContext.start();
+        size = UniversityFixture.Size.of(students, 20, 10, 10, 10);
+        new UniversityFixture(context.getBean(JdbcTemplate.class)).load(size);
+
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        moduleRepository = context.getBean(ModuleRepository.class);
+        enrollmentRepository = context.getBean(EnrollmentRepository.class);
+        studentRepository = context.getBean(StudentRepository.class);
+        teacherRepository = context.getBean(TeacherRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.clearProperty(BATCH_SIZE_PROPERTY);
+    }
+
+    @Benchmark
+    public int enrollModuleWithGrades() {
+        return transactionTemplate.execute(status -> {
+            Teacher teacher = teacherRepository.getReferenceById(1L);
+            Module module = moduleRepository.save(Module.builder()
+                .name("Bulk " + (++moduleCounter))
+                .program("Bench")
+                .semester(1)
+                .volumeHours(30)
+                .responsibleTeacher(teacher)
+                .build());
+
+            List<Enrollment> enrollments = new ArrayList<>(size.students());
+            for (int s = 1; s <= size.students(); s++) {
+                Student student = studentRepository.getReferenceById((long) size.teachers() + s);
+                Enrollment enrollment = Enrollment.builder().student(student).module(module).build();
+                enrollment.setGrade(Grade.builder()
+                    .enrollment(enrollment)
+                    .givenByTeacher(teacher)
+                    .examGrade((double) (s % 21))
+                    .finalGrade((double) (s % 21))
+                    .build());
+                enrollments.add(enrollment);
+            }
+            return enrollmentRepository.saveAll(enrollments).size();
+        });
+    }
+}
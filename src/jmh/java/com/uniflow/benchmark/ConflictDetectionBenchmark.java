@@ -0,0 +1,125 @@
+package com.uniflow.benchmark;
+
+import com.uniflow.model.Session;
+import com.uniflow.repository.EnrollmentRepository;
+import com.uniflow.repository.SessionRepository;
+import com.uniflow.service.ConflictDetectionService;
+import com.uniflow.service.ConflictDetectionService.ConflictReport;
+import com.uniflow.service.ConflictReportEngine;
+import com.uniflow.service.ScheduleOccupancyIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Détection de conflits sur une université synthétique :
+ * validations à la création de session et à l'inscription, rapport global.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConflictDetectionBenchmark {
+
+    @Param({"2000"})
+    public int students;
+
+    @Param({"60"})
+    public int groups;
+
+    @Param({"120"})
+    public int modules;
+
+    @Param({"40"})
+    public int rooms;
+
+    @Param({"30"})
+    public int timeslots;
+
+    private ConfigurableApplicationContext context;
+    private ConflictDetectionService conflictDetectionService;
+    private ConflictReportEngine conflictReportEngine;
+    private UniversityFixture.Size size;
+    private List<Session> sessions;
+    private Map<Long, BitSet> studentsByModule;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        size = UniversityFixture.Size.of(students, groups, modules, rooms, timeslots);
+        new UniversityFixture(context.getBean(JdbcTemplate.class)).load(size);
+
+        conflictDetectionService = context.getBean(ConflictDetectionService.class);
+        conflictReportEngine = context.getBean(ConflictReportEngine.class);
+        context.getBean(ScheduleOccupancyIndex.class).rebuild();
+        sessions = context.getBean(SessionRepository.class).findAllWithRelations();
+        studentsByModule = ConflictReportEngine.indexEnrollments(context.getBean(EnrollmentRepository.class).findAllLinks());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void validateStudentScheduleConflicts(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long groupId = random.nextInt(size.groups()) + 1;
+        long timeslotId = random.nextInt(size.timeslots()) + 1;
+        try {
+            conflictDetectionService.validateStudentScheduleConflicts(groupId, timeslotId);
+            blackhole.consume(true);
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public void validateStudentEnrollmentConflicts(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long studentId = size.teachers() + random.nextInt(size.students()) + 1;
+        long moduleId = random.nextInt(size.modules()) + 1;
+        try {
+            conflictDetectionService.validateStudentEnrollmentConflicts(studentId, moduleId);
+            blackhole.consume(true);
+        } catch (IllegalArgumentException e) {
+            blackhole.consume(e.getMessage());
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ConflictReport generateConflictReport() {
+        return conflictDetectionService.generateConflictReport();
+    }
+
+    /**
+     * Analyse seule, données déjà en mémoire : isole le coût du moteur de celui des requêtes
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ConflictReport analyzeInMemory() {
+        return conflictReportEngine.analyze(sessions, studentsByModule);
+    }
+}
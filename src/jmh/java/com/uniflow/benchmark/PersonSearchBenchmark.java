@@ -0,0 +1,115 @@
+package com.uniflow.benchmark;
+
+import com.uniflow.dto.PersonSummary;
+import com.uniflow.model.Student;
+import com.uniflow.model.enums.RoleEnum;
+import com.uniflow.service.PersonSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherche d'étudiants par sous-chaîne (nom, prénom, email) : index de trigrammes en mémoire,
+ * première page de 20 résultats classés, contre l'ancienne requête {@code LOWER(x) LIKE '%q%'}.
+ * Les noms générés par UniversityFixture sont remplacés par des noms courants tirés au hasard.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersonSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Jean", "Marie", "Pierre", "Sophie", "Lucas", "Camille", "Louis",
+        "Emma", "Hugo", "Léa", "Nathan", "Chloé", "Thomas", "Manon", "Julien", "Inès", "Antoine", "Sarah", "Maxime",
+        "Julie", "Alexandre", "Laura", "Nicolas", "Clara", "Mathieu", "Anaïs", "Romain", "Pauline", "Karim", "Yasmine"};
+    private static final String[] LAST_NAMES = {"Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit",
+        "Durand", "Leroy", "Moreau", "Simon", "Laurent", "Lefèvre", "Michel", "Garcia", "David", "Bertrand", "Roux",
+        "Vincent", "Fournier", "Morel", "Girard", "André", "Mercier", "Dupont", "Lambert", "Bonnet", "François",
+        "Martinez", "Legrand", "Garnier", "Faure", "Rousseau", "Blanc", "Guerin", "Muller", "Henry", "Roussel"};
+
+    private static final String LIKE_QUERY = "SELECT s FROM Student s JOIN FETCH s.user u " +
+        "WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :query, '%')) " +
+        "OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :query, '%')) " +
+        "OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))";
+
+    @Param({"100000"})
+    public int students;
+
+    /**
+     * Nom courant, début de saisie, prénom et début de nom, email exact, aucune correspondance
+     */
+    @Param({"dupont", "ma", "jean dup", "student4242@", "zzq"})
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private PersonSearchIndex personSearchIndex;
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        UniversityFixture.Size size = new UniversityFixture.Size(students, 100, 10, 20, 10, 10, 1, 0, 42L);
+        new UniversityFixture(jdbcTemplate).load(size);
+
+        Random random = new Random(7);
+        List<Object[]> names = new ArrayList<>(students);
+        for (int s = 1; s <= students; s++) {
+            names.add(new Object[]{FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                LAST_NAMES[random.nextInt(LAST_NAMES.length)], (long) size.teachers() + s});
+        }
+        for (int from = 0; from < names.size(); from += 1000) {
+            jdbcTemplate.batchUpdate("UPDATE students SET first_name = ?, last_name = ? WHERE id = ?",
+                names.subList(from, Math.min(names.size(), from + 1000)));
+        }
+
+        personSearchIndex = context.getBean(PersonSearchIndex.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        // Chargement de l'index hors mesure
+        personSearchIndex.search("warm up", RoleEnum.STUDENT, 0, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<PersonSummary> searchIndex() {
+        return personSearchIndex.search(query, RoleEnum.STUDENT, 0, 20);
+    }
+
+    @Benchmark
+    public List<Student> searchLike() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(LIKE_QUERY, Student.class)
+                .setParameter("query", query)
+                .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.uniflow.benchmark;
+
+import com.uniflow.dto.SessionSlot;
+import com.uniflow.model.enums.SessionTypeEnum;
+import com.uniflow.repository.SessionRepository;
+import com.uniflow.service.ConcurrencyRetry;
+import com.uniflow.service.ScheduleOccupancyIndex;
+import com.uniflow.service.SessionService;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Créations et déplacements de sessions concurrents (plusieurs administrateurs).
+ * Mesure le débit, puis vérifie en fin d'essai qu'aucune double réservation n'a été
+ * enregistrée et que l'index d'occupation correspond exactement à la base.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@Slf4j
+public class SchedulingStressBenchmark {
+
+    @Param({"500"})
+    public int students;
+
+    @Param({"20"})
+    public int groups;
+
+    @Param({"40"})
+    public int modules;
+
+    @Param({"15"})
+    public int rooms;
+
+    @Param({"20"})
+    public int timeslots;
+
+    private ConfigurableApplicationContext context;
+    private SessionService sessionService;
+    private ConcurrencyRetry concurrencyRetry;
+    private ScheduleOccupancyIndex occupancyIndex;
+    private UniversityFixture.Size size;
+    private List<Long> initialSessionIds;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        size = UniversityFixture.Size.of(students, groups, modules, rooms, timeslots);
+        new UniversityFixture(context.getBean(JdbcTemplate.class)).load(size);
+
+        sessionService = context.getBean(SessionService.class);
+        concurrencyRetry = context.getBean(ConcurrencyRetry.class);
+        occupancyIndex = context.getBean(ScheduleOccupancyIndex.class);
+        occupancyIndex.rebuild();
+        initialSessionIds = List.copyOf(occupancyIndex.snapshot().sessions().keySet());
+    }
+
+    @TearDown(Level.Trial)
+    public void verifyAndClose() {
+        try {
+            List<SessionSlot> stored = context.getBean(SessionRepository.class).findAllSlots();
+            long roomClashes = stored.stream().map(s -> s.roomId() + ":" + s.timeslotId()).distinct().count();
+            long teacherClashes = stored.stream().map(s -> s.teacherId() + ":" + s.timeslotId()).distinct().count();
+            long groupClashes = stored.stream().map(s -> s.groupId() + ":" + s.timeslotId()).distinct().count();
+            if (roomClashes != stored.size() || teacherClashes != stored.size() || groupClashes != stored.size()) {
+                throw new IllegalStateException("Double booking stored in the database");
+            }
+            if (!new HashSet<>(stored).equals(new HashSet<>(occupancyIndex.snapshot().sessions().values()))) {
+                throw new IllegalStateException("Occupancy index diverged from the database");
+            }
+            log.info("Sessions: {}, accepted operations: {}, rejected (conflict): {}",
+                stored.size(), accepted.get(), rejected.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public void createSession() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long moduleId = random.nextInt(size.modules()) + 1;
+        long teacherId = random.nextInt(size.teachers()) + 1;
+        long groupId = random.nextInt(size.groups()) + 1;
+        long roomId = random.nextInt(size.rooms()) + 1;
+        long timeslotId = random.nextInt(size.timeslots()) + 1;
+        record(() -> sessionService.createSession(SessionTypeEnum.TD, moduleId, teacherId, groupId, roomId, timeslotId));
+    }
+
+    @Benchmark
+    public void moveSession() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SessionSlot session = occupancyIndex.snapshot().sessions()
+            .get(initialSessionIds.get(random.nextInt(initialSessionIds.size())));
+        if (session == null) {
+            return;
+        }
+        long roomId = random.nextInt(size.rooms()) + 1;
+        long timeslotId = random.nextInt(size.timeslots()) + 1;
+        record(() -> sessionService.updateSession(session.id(), SessionTypeEnum.LECTURE, session.moduleId(),
+            session.teacherId(), session.groupId(), roomId, timeslotId));
+    }
+
+    private void record(Runnable operation) {
+        try {
+            concurrencyRetry.run(operation);
+            accepted.incrementAndGet();
+        } catch (IllegalArgumentException e) {
+            rejected.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.uniflow.benchmark;
+
+import com.uniflow.event.EnrollmentChangedEvent;
+import com.uniflow.model.Session;
+import com.uniflow.service.StudentTimetableService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emploi du temps d'un étudiant tiré au hasard : lecture de la table matérialisée contre
+ * le calcul à la volée (sessions du groupe ou des modules suivis hors du groupe), et coût de la mise à jour
+ * des lignes d'un étudiant après une inscription.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentTimetableBenchmark {
+
+    private static final String JOIN_QUERY = "SELECT s FROM Session s " +
+        "JOIN FETCH s.module JOIN FETCH s.teacher JOIN FETCH s.group JOIN FETCH s.room JOIN FETCH s.timeslot t " +
+        "WHERE s.group.id = (SELECT st.group.id FROM Student st WHERE st.id = :studentId) " +
+        "OR s.module.id IN (SELECT e.module.id FROM Enrollment e WHERE e.student.id = :studentId " +
+        "AND e.student.group NOT MEMBER OF e.module.assignedGroups) " +
+        "ORDER BY t.dayOfWeek, t.startTime";
+
+    @Param({"20000"})
+    public int students;
+
+    private ConfigurableApplicationContext context;
+    private StudentTimetableService studentTimetableService;
+    private EntityManagerFactory entityManagerFactory;
+    private UniversityFixture.Size size;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        size = new UniversityFixture.Size(students, 400, 60, 240, 80, 30, 6, 2, 42L);
+        new UniversityFixture(context.getBean(JdbcTemplate.class)).load(size);
+
+        studentTimetableService = context.getBean(StudentTimetableService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        studentTimetableService.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Session> readMaterialized() {
+        return studentTimetableService.findTimetable(randomStudent());
+    }
+
+    @Benchmark
+    public List<Session> readJoined() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(JOIN_QUERY, Session.class)
+                .setParameter("studentId", randomStudent())
+                .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Mise à jour déclenchée par une inscription (sans changement réel : ajout et retrait à vide)
+     */
+    @Benchmark
+    public void refreshAfterEnrollment() {
+        studentTimetableService.onEnrollmentChanged(new EnrollmentChangedEvent(randomStudent(), 1L, true));
+    }
+
+    private long randomStudent() {
+        return size.teachers() + ThreadLocalRandom.current().nextInt(size.students()) + 1;
+    }
+}
@@ -0,0 +1,195 @@
+package com.uniflow.benchmark;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Générateur d'université synthétique pour les benchmarks.
+ * Les lignes sont insérées par lots JDBC avec des identifiants explicites (1..n par table) :
+ * la base cible doit être vide.
+ * <p>
+ * Chaque groupe suit {@code modulesPerGroup} modules ; ses étudiants y sont inscrits, plus
+ * {@code extraEnrollments} modules d'autres groupes, ce qui crée les conflits d'étudiants.
+ * Les sessions sont placées de façon gloutonne sans conflit de salle, d'enseignant ni de groupe.
+ */
+public class UniversityFixture {
+
+    private static final String[] DAYS = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY"};
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * Taille de l'université générée
+     */
+    public record Size(int students, int groups, int teachers, int modules, int rooms, int timeslots,
+                       int modulesPerGroup, int extraEnrollments, long seed) {
+
+        public static Size of(int students, int groups, int modules, int rooms, int timeslots) {
+            return new Size(students, groups, Math.max(1, modules / 2), modules, rooms, timeslots, 6, 1, 42L);
+        }
+    }
+
+    /**
+     * Bilan de la génération
+     */
+    public record Data(Size size, int enrollments, int sessions) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UniversityFixture(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Data load(Size size) {
+        if (size.timeslots() > DAYS.length * 24) {
+            throw new IllegalArgumentException("At most " + DAYS.length * 24 + " timeslots are supported");
+        }
+        Random random = new Random(size.seed());
+
+        // Utilisateurs : enseignants 1..T, puis étudiants T+1..T+S (identifiant partagé avec users)
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 1; i <= size.teachers() + size.students(); i++) {
+            boolean teacher = i <= size.teachers();
+            users.add(new Object[]{(long) i, (teacher ? "teacher" : "student") + i + "@bench.uniflow",
+                "{noop}bench", teacher ? "TEACHER" : "STUDENT", true});
+        }
+        batch("INSERT INTO users (id, email, password_hash, role, enabled) VALUES (?, ?, ?, ?, ?)", users);
+
+        List<Object[]> teachers = new ArrayList<>();
+        for (int i = 1; i <= size.teachers(); i++) {
+            teachers.add(new Object[]{(long) i, "Teacher", "T" + i, 0});
+        }
+        batch("INSERT INTO teachers (id, first_name, last_name, workload_hours) VALUES (?, ?, ?, ?)", teachers);
+
+        List<Object[]> groups = new ArrayList<>();
+        for (int g = 1; g <= size.groups(); g++) {
+            groups.add(new Object[]{(long) g, "G" + g, "Bench", "L" + (g % 3 + 1)});
+        }
+        batch("INSERT INTO groups (id, name, program, level) VALUES (?, ?, ?, ?)", groups);
+
+        List<Object[]> students = new ArrayList<>();
+        long[] groupOfStudent = new long[size.students() + 1];
+        for (int s = 1; s <= size.students(); s++) {
+            long id = size.teachers() + s;
+            groupOfStudent[s] = (s - 1) % size.groups() + 1;
+            students.add(new Object[]{id, "Student", "S" + s, "Bench", "L1", groupOfStudent[s]});
+        }
+        batch("INSERT INTO students (id, first_name, last_name, program, level, group_id) VALUES (?, ?, ?, ?, ?, ?)",
+            students);
+
+        List<Object[]> modules = new ArrayList<>();
+        for (int m = 1; m <= size.modules(); m++) {
+            modules.add(new Object[]{(long) m, "Module " + m, "Bench", m % 6 + 1, 30, (long) ((m - 1) % size.teachers() + 1)});
+        }
+        batch("INSERT INTO modules (id, name, program, semester, volume_hours, responsible_teacher_id) VALUES (?, ?, ?, ?, ?, ?)",
+            modules);
+
+        // Affectations module–groupe
+        List<long[]> assignments = new ArrayList<>();
+        List<Set<Long>> modulesOfGroup = new ArrayList<>();
+        modulesOfGroup.add(Set.of());
+        for (int g = 1; g <= size.groups(); g++) {
+            Set<Long> chosen = new HashSet<>();
+            while (chosen.size() < Math.min(size.modulesPerGroup(), size.modules())) {
+                chosen.add((long) random.nextInt(size.modules()) + 1);
+            }
+            modulesOfGroup.add(chosen);
+            for (Long moduleId : chosen) {
+                assignments.add(new long[]{moduleId, g});
+            }
+        }
+        batch("INSERT INTO module_groups (module_id, group_id) VALUES (?, ?)",
+            assignments.stream().map(a -> new Object[]{a[0], a[1]}).toList());
+
+        List<Object[]> rooms = new ArrayList<>();
+        int groupSize = (size.students() + size.groups() - 1) / size.groups();
+        for (int r = 1; r <= size.rooms(); r++) {
+            rooms.add(new Object[]{(long) r, "Room " + r, groupSize + random.nextInt(groupSize * 2 + 1), "CLASSROOM"});
+        }
+        batch("INSERT INTO rooms (id, name, capacity, type) VALUES (?, ?, ?, ?)", rooms);
+
+        List<Object[]> timeslots = new ArrayList<>();
+        int perDay = (size.timeslots() + DAYS.length - 1) / DAYS.length;
+        for (int t = 0; t < size.timeslots(); t++) {
+            LocalTime start = LocalTime.of(8, 0).plusHours(t % perDay);
+            timeslots.add(new Object[]{(long) t + 1, DAYS[t / perDay], Time.valueOf(start), Time.valueOf(start.plusMinutes(55))});
+        }
+        batch("INSERT INTO timeslots (id, day_of_week, start_time, end_time) VALUES (?, ?, ?, ?)", timeslots);
+
+        // Inscriptions : modules du groupe, plus quelques modules pris ailleurs
+        List<Object[]> enrollments = new ArrayList<>();
+        long enrollmentId = 1;
+        for (int s = 1; s <= size.students(); s++) {
+            Set<Long> enrolled = new HashSet<>(modulesOfGroup.get((int) groupOfStudent[s]));
+            for (int e = 0; e < size.extraEnrollments(); e++) {
+                enrolled.add((long) random.nextInt(size.modules()) + 1);
+            }
+            for (Long moduleId : enrolled) {
+                enrollments.add(new Object[]{enrollmentId++, (long) size.teachers() + s, moduleId});
+            }
+        }
+        batch("INSERT INTO enrollments (id, student_id, module_id) VALUES (?, ?, ?)", enrollments);
+
+        batch("INSERT INTO sessions (id, type, module_id, teacher_id, group_id, room_id, timeslot_id, version) " +
+              "VALUES (?, 'LECTURE', ?, ?, ?, ?, ?, 0)", placeSessions(size, assignments, random));
+
+        // Les séquences (pas de 50) doivent repartir après les identifiants insérés explicitement
+        for (String table : List.of("users", "groups", "modules", "rooms", "timeslots", "enrollments", "grades", "sessions")) {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            jdbcTemplate.execute("ALTER SEQUENCE " + table + "_id_seq RESTART WITH " + (max + 50));
+        }
+
+        return new Data(size, enrollments.size(), count("sessions"));
+    }
+
+    private List<Object[]> placeSessions(Size size, List<long[]> assignments, Random random) {
+        BitSet[] teacherBusy = new BitSet[size.timeslots()];
+        BitSet[] groupBusy = new BitSet[size.timeslots()];
+        BitSet[] roomBusy = new BitSet[size.timeslots()];
+        for (int t = 0; t < size.timeslots(); t++) {
+            teacherBusy[t] = new BitSet();
+            groupBusy[t] = new BitSet();
+            roomBusy[t] = new BitSet();
+        }
+
+        List<Object[]> sessions = new ArrayList<>();
+        long sessionId = 1;
+        for (long[] assignment : assignments) {
+            int teacher = (int) ((assignment[0] - 1) % size.teachers() + 1);
+            int group = (int) assignment[1];
+            int offset = random.nextInt(size.timeslots());
+            for (int k = 0; k < size.timeslots(); k++) {
+                int t = (offset + k) % size.timeslots();
+                int room = roomBusy[t].nextClearBit(1);
+                if (teacherBusy[t].get(teacher) || groupBusy[t].get(group) || room > size.rooms()) {
+                    continue;
+                }
+                teacherBusy[t].set(teacher);
+                groupBusy[t].set(group);
+                roomBusy[t].set(room);
+                sessions.add(new Object[]{sessionId++, assignment[0], (long) teacher, (long) group, (long) room, (long) t + 1});
+                break;
+            }
+        }
+        return sessions;
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE)));
+        }
+    }
+
+    private int count(String table) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,4 @@
+-- Types PostgreSQL des entites (columnDefinition), recrees comme domaines H2
+CREATE DOMAIN IF NOT EXISTS citext AS VARCHAR(255);
+CREATE DOMAIN IF NOT EXISTS role_enum AS VARCHAR(20);
+CREATE DOMAIN IF NOT EXISTS session_type_enum AS VARCHAR(20);
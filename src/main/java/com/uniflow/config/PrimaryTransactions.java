@@ -0,0 +1,52 @@
+package com.uniflow.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs work in its own transaction on the primary database, whatever the request already read.
+ * <p>
+ * With open-in-view, a page keeps one EntityManager, and therefore one physical connection, for the whole
+ * request: once its first read-only transaction has drawn a replica connection, later transactions of the
+ * request reuse it, {@code REQUIRES_NEW} ones included when no transaction is active. This template sets the
+ * request's EntityManager aside for the duration of the callback, so the transaction opens a fresh one whose
+ * connection is fetched from the primary, then puts it back.
+ * Meant for reads whose result must not lag behind a commit: data that is cached beyond the request, or that
+ * was just written by another thread.
+ */
+@Component
+public class PrimaryTransactions {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+
+    public PrimaryTransactions(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        // Not read-only: the routing proxy only hands read-only transactions to a replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public <T> T execute(TransactionCallback<T> action) {
+        // Inside a transaction, REQUIRES_NEW already suspends the current EntityManager
+        EntityManagerHolder requestEntityManager = TransactionSynchronizationManager.isActualTransactionActive()
+                ? null
+                : (EntityManagerHolder) TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+        boolean replicaAllowed = ReplicaRoutingDataSource.isReplicaAllowed();
+        ReplicaRoutingDataSource.allowReplica(false);
+        try {
+            return transactionTemplate.execute(action);
+        } finally {
+            ReplicaRoutingDataSource.allowReplica(replicaAllowed);
+            if (requestEntityManager != null) {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, requestEntityManager);
+            }
+        }
+    }
+}
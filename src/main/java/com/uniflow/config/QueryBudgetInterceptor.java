@@ -0,0 +1,60 @@
+package com.uniflow.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Checks the {@link QueryBudget} of a page once the view is rendered, so that lazy loads triggered
+ * by the template are counted too. An exceeded budget is logged as a warning. When
+ * {@code uniflow.query-budget.strict} is set (development and CI), the statement past the budget fails
+ * instead, controller or template alike, so a page that regresses to N+1 queries fails the request.
+ */
+@Component
+@Slf4j
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private final boolean strict;
+
+    public QueryBudgetInterceptor(@Value("${uniflow.query-budget.strict:false}") boolean strict) {
+        this.strict = strict;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryBudget budget = budgetOf(handler);
+        if (budget != null) {
+            QueryCountInspector.start(strict ? budget.value() : Integer.MAX_VALUE);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryBudget budget = budgetOf(handler);
+        if (budget == null) {
+            return;
+        }
+        int count = QueryCountInspector.count();
+        QueryCountInspector.stop();
+
+        if (count > budget.value()) {
+            String message = "{} {} issued {} SQL statements (budget: {})";
+            if (strict) {
+                log.error(message, request.getMethod(), request.getRequestURI(), count, budget.value());
+            } else {
+                log.warn(message, request.getMethod(), request.getRequestURI(), count, budget.value());
+            }
+        } else {
+            log.debug("{} {} issued {} SQL statements", request.getMethod(), request.getRequestURI(), count);
+        }
+    }
+
+    private static QueryBudget budgetOf(Object handler) {
+        return handler instanceof HandlerMethod method ? method.getMethodAnnotation(QueryBudget.class) : null;
+    }
+}
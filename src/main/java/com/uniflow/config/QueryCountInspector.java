@@ -0,0 +1,59 @@
+package com.uniflow.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #start(int)} and {@link #stop()}.
+ * Registered through {@code hibernate.session_factory.statement_inspector}; outside a counting scope it only
+ * returns the statement unchanged. A statement past the limit given to {@link #start(int)} is refused.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ThreadLocal<Counter> COUNTER = new ThreadLocal<>();
+
+    /**
+     * Counts without limit
+     */
+    public static void start() {
+        start(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Counts and fails the statement that would exceed {@code limit} with an {@link IllegalStateException}
+     */
+    public static void start(int limit) {
+        COUNTER.set(new Counter(limit));
+    }
+
+    /**
+     * Statements counted since {@link #start(int)}, or -1 when no count is in progress
+     */
+    public static int count() {
+        Counter counter = COUNTER.get();
+        return counter != null ? counter.count : -1;
+    }
+
+    public static void stop() {
+        COUNTER.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Counter counter = COUNTER.get();
+        if (counter != null && ++counter.count > counter.limit) {
+            throw new IllegalStateException("SQL statement budget of " + counter.limit + " exceeded by: " + sql);
+        }
+        return sql;
+    }
+
+    private static final class Counter {
+        private final int limit;
+        private int count;
+
+        private Counter(int limit) {
+            this.limit = limit;
+        }
+    }
+}
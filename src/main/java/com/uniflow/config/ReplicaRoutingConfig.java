@@ -0,0 +1,93 @@
+package com.uniflow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read replica routing, enabled when {@code uniflow.datasource.replica-urls} lists at least one replica.
+ * The application data source becomes a {@link LazyConnectionDataSourceProxy} over the primary pool:
+ * the physical connection is only fetched at the first statement, once the transaction has flagged it
+ * read-only, and read-only transactions then draw it from {@link ReplicaRoutingDataSource}.
+ * Open-in-view keeps that connection for the rest of the request: reads that must see the primary go
+ * through {@link PrimaryTransactions}.
+ * Without replicas, Spring Boot's single pool is left untouched.
+ */
+@Configuration
+@ConditionalOnExpression("!'${uniflow.datasource.replica-urls:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${uniflow.datasource.replica-urls}") String replicaUrls,
+            @Value("${uniflow.datasource.replica-username:}") String username,
+            @Value("${uniflow.datasource.replica-password:}") String password,
+            @Value("${uniflow.datasource.replica-pool-size:10}") int poolSize,
+            @Value("${uniflow.datasource.replica-max-lag:2s}") Duration maxLag,
+            @Value("${uniflow.datasource.replica-check-interval:1s}") Duration checkInterval) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        // JDBC URLs may themselves contain commas (driver options): split only before the next "jdbc:"
+        String[] urls = replicaUrls.split(",\\s*(?=jdbc:)");
+        for (int i = 0; i < urls.length; i++) {
+            if (urls[i].isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (i + 1));
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(username.isBlank() ? properties.determineUsername() : username);
+            replica.setPassword(password.isBlank() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag, checkInterval);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+
+    /**
+     * A write becomes visible on every replica still in rotation within the lag limit plus one check
+     * interval (the lag is only measured that often); the writer's session stays on the primary that long.
+     * Registered ahead of Spring Security, whose filters answer some writes (login, logout) themselves.
+     */
+    @Bean
+    public FilterRegistrationBean<ReplicaRoutingFilter> replicaRoutingFilter(
+            @Value("${uniflow.datasource.replica-paths:/student/**,/teacher/**}") String replicaPaths,
+            @Value("${uniflow.datasource.replica-max-lag:2s}") Duration maxLag,
+            @Value("${uniflow.datasource.replica-check-interval:1s}") Duration checkInterval) {
+        List<String> paths = Arrays.stream(replicaPaths.split(",")).map(String::trim).filter(p -> !p.isEmpty()).toList();
+        FilterRegistrationBean<ReplicaRoutingFilter> registration =
+            new FilterRegistrationBean<>(new ReplicaRoutingFilter(paths, maxLag.plus(checkInterval)));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,136 @@
+package com.uniflow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection source for read-only transactions: a healthy replica, picked round-robin, when the current
+ * thread was marked eligible by {@link ReplicaRoutingFilter}; the primary otherwise. Every thread starts
+ * on the primary, so writes, background work and after-commit listeners never read from a replica.
+ * <p>
+ * A probe measures the replay lag of each replica every {@code checkInterval}; a replica lagging more
+ * than {@code maxLag}, or unreachable, is skipped until it catches up. With no healthy replica left,
+ * read-only transactions fall back to the primary.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+        + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final ThreadLocal<Boolean> REPLICA_ALLOWED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService probe;
+
+    /**
+     * Replica pool and its last measured state
+     */
+    private static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMillis = -1;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration maxLag, Duration checkInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLagMillis = maxLag.toMillis();
+        this.probe = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Replicas join the rotation only once a first measurement succeeds
+        probe.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    static void allowReplica(boolean allowed) {
+        if (allowed) {
+            REPLICA_ALLOWED.set(Boolean.TRUE);
+        } else {
+            REPLICA_ALLOWED.remove();
+        }
+    }
+
+    static boolean isReplicaAllowed() {
+        return REPLICA_ALLOWED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        if (isReplicaAllowed()) {
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    return source.open(replica.dataSource);
+                } catch (SQLException e) {
+                    replica.healthy = false;
+                    log.warn("Replica {} unavailable, skipped until the next check: {}", replica.dataSource.getPoolName(), e.getMessage());
+                }
+            }
+        }
+        return source.open(primary);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean wasHealthy = replica.healthy;
+            try {
+                Number lag = new JdbcTemplate(replica.dataSource).queryForObject(LAG_QUERY, Number.class);
+                replica.lagMillis = lag != null ? lag.longValue() : 0;
+                replica.healthy = replica.lagMillis <= maxLagMillis;
+            } catch (RuntimeException e) {
+                replica.lagMillis = -1;
+                replica.healthy = false;
+            }
+            if (wasHealthy != replica.healthy) {
+                log.info("Replica {} {} (lag {} ms)", replica.dataSource.getPoolName(),
+                    replica.healthy ? "back in rotation" : "out of rotation", replica.lagMillis);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        probe.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
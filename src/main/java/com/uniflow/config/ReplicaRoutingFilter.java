@@ -0,0 +1,65 @@
+package com.uniflow.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Marks the request threads whose read-only transactions may run on a replica: GET and HEAD pages
+ * under the configured paths. A session that issued a write in the last {@code readYourWritesWindow}
+ * stays on the primary, so a user always sees their own changes even while replicas catch up.
+ */
+public class ReplicaRoutingFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_ATTRIBUTE = ReplicaRoutingFilter.class.getName() + ".LAST_WRITE";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> replicaPaths;
+    private final long readYourWritesMillis;
+
+    public ReplicaRoutingFilter(List<String> replicaPaths, Duration readYourWritesWindow) {
+        this.replicaPaths = replicaPaths;
+        this.readYourWritesMillis = readYourWritesWindow.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean safe = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        ReplicaRoutingDataSource.allowReplica(safe && matches(request) && !wroteRecently(request));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.allowReplica(false);
+            if (!safe) {
+                // The session may have been created or replaced (login) while handling the request
+                HttpSession session = request.getSession(false);
+                if (session != null) {
+                    session.setAttribute(LAST_WRITE_ATTRIBUTE, System.currentTimeMillis());
+                }
+            }
+        }
+    }
+
+    private boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return replicaPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private boolean wroteRecently(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return false;
+        }
+        Object lastWrite = session.getAttribute(LAST_WRITE_ATTRIBUTE);
+        return lastWrite instanceof Long time && System.currentTimeMillis() - time < readYourWritesMillis;
+    }
+}
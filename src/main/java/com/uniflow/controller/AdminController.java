@@ -1,7 +1,11 @@
 package com.uniflow.controller;
 
-import com.uniflow.service.*;
+import com.uniflow.config.QueryBudget;
+import com.uniflow.dto.DashboardStats;
+import com.uniflow.service.CacheStatisticsService;
+import com.uniflow.service.DashboardStatisticsService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,32 +14,31 @@ import org.springframework.web.bind.annotation.RequestMapping;
 @Controller
 @RequestMapping("/admin")
 @RequiredArgsConstructor
+@Slf4j
 public class AdminController {
 
-    private final StudentService studentService;
-    private final TeacherService teacherService;
-    private final GroupService groupService;
-    private final ModuleService moduleService;
-    private final RoomService roomService;
-    private final TimeslotService timeslotService;
-    private final SessionService sessionService;
+    private final DashboardStatisticsService dashboardStatisticsService;
+    private final CacheStatisticsService cacheStatisticsService;
 
     @GetMapping("/dashboard")
+    @QueryBudget(7)
     public String dashboard(Model model) {
+        DashboardStats stats;
         try {
-            model.addAttribute("studentCount", studentService.findAll().size());
-            model.addAttribute("teacherCount", teacherService.findAll().size());
-            model.addAttribute("groupCount", groupService.findAll().size());
-            model.addAttribute("moduleCount", moduleService.findAll().size());
-            model.addAttribute("sessionCount", sessionService.findAll().size());
+            stats = dashboardStatisticsService.getStats();
         } catch (Exception e) {
             // If there's an error, set counts to 0
-            model.addAttribute("studentCount", 0);
-            model.addAttribute("teacherCount", 0);
-            model.addAttribute("groupCount", 0);
-            model.addAttribute("moduleCount", 0);
-            model.addAttribute("sessionCount", 0);
+            log.warn("Dashboard statistics unavailable", e);
+            stats = DashboardStats.empty();
         }
+        model.addAttribute("stats", stats);
         return "admin/dashboard";
     }
+
+    @GetMapping("/cache")
+    @QueryBudget(0)
+    public String cacheStatistics(Model model) {
+        model.addAttribute("regions", cacheStatisticsService.getRegionStats());
+        return "admin/cache";
+    }
 }
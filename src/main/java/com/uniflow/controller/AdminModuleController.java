@@ -1,15 +1,28 @@
 package com.uniflow.controller;
 
+import com.uniflow.config.QueryBudget;
+import com.uniflow.dto.GradeExportFilter;
+import com.uniflow.dto.KeysetPage;
+import com.uniflow.dto.ModuleListItem;
 import com.uniflow.model.Module;
+import com.uniflow.model.enums.ExportFormat;
+import com.uniflow.service.GradeExportService;
+import com.uniflow.service.GradeService;
 import com.uniflow.service.GroupService;
 import com.uniflow.service.ModuleService;
 import com.uniflow.service.TeacherService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
+import java.io.IOException;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -23,10 +36,22 @@ public class AdminModuleController {
     private final ModuleService moduleService;
     private final TeacherService teacherService;
     private final GroupService groupService;
+    private final GradeService gradeService;
+    private final GradeExportService gradeExportService;
 
     @GetMapping
-    public String listModules(Model model) {
-        model.addAttribute("modules", moduleService.findAll());
+    @QueryBudget(4)
+    public String listModules(@RequestParam(required = false) String program,
+                              @RequestParam(required = false) Long teacherId,
+                              @RequestParam(required = false) Long groupId,
+                              @RequestParam(required = false) Long after,
+                              @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size,
+                              Model model) {
+        KeysetPage<ModuleListItem> page = moduleService.findListPage(program, teacherId, groupId, after, size);
+        model.addAttribute("page", page);
+        model.addAttribute("modules", page.items());
+        model.addAttribute("selectedTeacher", teacherService.findOption(teacherId));
+        model.addAttribute("groups", groupService.findOptions());
         return "admin/modules/list";
     }
 
@@ -73,6 +98,42 @@ public class AdminModuleController {
         return "admin/modules/edit";
     }
 
+    @GetMapping("/{id}/statistics")
+    @QueryBudget(2)
+    public String showStatistics(@PathVariable Long id, Model model) {
+        Module module = moduleService.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Module not found: " + id));
+        model.addAttribute("module", module);
+        model.addAttribute("statistics", gradeService.getModuleStatistics(id));
+        return "admin/modules/statistics";
+    }
+
+    /**
+     * The file is written straight to the response: the method returns no view, so an empty filter
+     * is reported through a flash attribute saved by hand before redirecting.
+     */
+    @GetMapping("/grades/export")
+    @QueryBudget(1)
+    public void exportGrades(@RequestParam(required = false) Long moduleId,
+                             @RequestParam(required = false) String program,
+                             @RequestParam(required = false) Integer semester,
+                             @RequestParam(defaultValue = "CSV") ExportFormat format,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        GradeExportFilter filter = new GradeExportFilter(moduleId, program, semester);
+        if (filter.isEmpty()) {
+            RequestContextUtils.getOutputFlashMap(request)
+                    .put("errorMessage", "Choose a module, a program or a semester to export");
+            RequestContextUtils.saveOutputFlashMap("/admin/modules", request, response);
+            response.sendRedirect(request.getContextPath() + "/admin/modules");
+            return;
+        }
+        response.setContentType(format.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(filter.fileName(format)).build().toString());
+        gradeExportService.export(filter, format, response.getOutputStream());
+    }
+
     @PostMapping("/edit/{id}")
     public String updateModule(@PathVariable Long id,
                                @RequestParam String name,
@@ -1,32 +1,77 @@
 package com.uniflow.controller;
 
+import com.uniflow.config.QueryBudget;
+import com.uniflow.dto.KeysetPage;
+import com.uniflow.dto.ScheduleChangeSet;
+import com.uniflow.dto.SessionBatchResult;
+import com.uniflow.dto.SessionDefinition;
+import com.uniflow.dto.SimulationResult;
+import com.uniflow.dto.SlotSuggestion;
+import com.uniflow.dto.TimetableGenerationResult;
 import com.uniflow.model.Session;
 import com.uniflow.model.enums.SessionTypeEnum;
 import com.uniflow.service.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.List;
+
 @Controller
 @RequestMapping("/admin/sessions")
 @RequiredArgsConstructor
 public class AdminSessionController {
 
+    private static final int SUGGESTION_LIMIT = 10;
+
     private final SessionService sessionService;
     private final ModuleService moduleService;
     private final TeacherService teacherService;
     private final GroupService groupService;
     private final RoomService roomService;
     private final TimeslotService timeslotService;
+    private final ConflictStateView conflictStateView;
+    private final DashboardStatisticsService dashboardStatisticsService;
+    private final TimetableGeneratorService timetableGeneratorService;
+    private final SessionBatchService sessionBatchService;
+    private final ScheduleSimulationService scheduleSimulationService;
+    private final ConcurrencyRetry concurrencyRetry;
+    private final StudentTimetableService studentTimetableService;
 
     @GetMapping
-    public String listSessions(Model model) {
-        model.addAttribute("sessions", sessionService.findAll());
+    @QueryBudget(5)
+    public String listSessions(@RequestParam(required = false) String program,
+                               @RequestParam(required = false) Long groupId,
+                               @RequestParam(required = false) Long teacherId,
+                               @RequestParam(required = false) Long roomId,
+                               @RequestParam(required = false) String day,
+                               @RequestParam(required = false) Long after,
+                               @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size,
+                               Model model) {
+        KeysetPage<Session> page = sessionService.findListPage(program, groupId, teacherId, roomId, day, after, size);
+        model.addAttribute("page", page);
+        model.addAttribute("sessions", page.items());
+        model.addAttribute("stats", dashboardStatisticsService.getSessionListStats());
+        model.addAttribute("groups", groupService.findOptions());
+        model.addAttribute("selectedTeacher", teacherService.findOption(teacherId));
+        model.addAttribute("rooms", roomService.findOptions());
+        model.addAttribute("days", DayOfWeek.values());
         return "admin/sessions/list";
     }
 
+    @GetMapping("/conflicts")
+    public String showConflicts(Model model) {
+        model.addAttribute("report", conflictStateView.getReport());
+        return "admin/sessions/conflicts";
+    }
+
     @GetMapping("/create")
     public String showCreateForm(Model model) {
         model.addAttribute("sessionTypes", SessionTypeEnum.values());
@@ -47,15 +92,107 @@ public class AdminSessionController {
                                 @RequestParam Long timeslotId,
                                 RedirectAttributes redirectAttributes) {
         try {
-            sessionService.createSession(type, moduleId, teacherId, groupId, roomId, timeslotId);
+            concurrencyRetry.run(() -> sessionService.createSession(type, moduleId, teacherId, groupId, roomId, timeslotId));
             redirectAttributes.addFlashAttribute("successMessage", "Session created successfully");
             return "redirect:/admin/sessions";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            try {
+                redirectAttributes.addFlashAttribute("suggestions",
+                        sessionService.suggestSlots(moduleId, teacherId, groupId, SUGGESTION_LIMIT));
+                redirectAttributes.addFlashAttribute("rejected",
+                        new SessionDefinition(type, moduleId, teacherId, groupId, roomId, timeslotId));
+            } catch (Exception ignored) {
+                // Les suggestions sont facultatives : l'erreur d'origine reste affichée
+            }
             return "redirect:/admin/sessions/create";
         }
     }
 
+    @GetMapping(value = "/suggestions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<SlotSuggestion> suggestSlots(@RequestParam Long moduleId,
+                                             @RequestParam(required = false) Long teacherId,
+                                             @RequestParam Long groupId,
+                                             @RequestParam(defaultValue = "20") Integer limit) {
+        return sessionService.suggestSlots(moduleId, teacherId, groupId, limit);
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<SessionBatchResult> createSessions(@RequestBody List<SessionDefinition> definitions) {
+        try {
+            SessionBatchResult result = concurrencyRetry.execute(() -> sessionBatchService.createSessions(definitions));
+            return ResponseEntity.status(result.isSuccess() ? HttpStatus.CREATED : HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(result);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new SessionBatchResult(0, List.of(e.getMessage())));
+        }
+    }
+
+    @PostMapping(value = "/simulate", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<SimulationResult> simulate(@RequestBody ScheduleChangeSet changeSet) {
+        try {
+            return ResponseEntity.ok(scheduleSimulationService.simulate(changeSet));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new SimulationResult(List.of(), List.of(e.getMessage()), false));
+        }
+    }
+
+    @PostMapping(value = "/simulate/apply", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public ResponseEntity<SimulationResult> applySimulation(@RequestBody ScheduleChangeSet changeSet) {
+        try {
+            SimulationResult result = concurrencyRetry.execute(() -> scheduleSimulationService.apply(changeSet));
+            return ResponseEntity.status(result.isConflictFree() ? HttpStatus.OK : HttpStatus.CONFLICT).body(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(new SimulationResult(List.of(), List.of(e.getMessage()), false));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new SimulationResult(List.of(), List.of(e.getMessage()), false));
+        }
+    }
+
+    @PostMapping("/generate")
+    public String generateTimetable(@RequestParam(defaultValue = "LECTURE") SessionTypeEnum type,
+                                    @RequestParam(defaultValue = "1") Integer sessionsPerAssignment,
+                                    @RequestParam(defaultValue = "30") Integer timeBudgetSeconds,
+                                    RedirectAttributes redirectAttributes) {
+        try {
+            TimetableGenerationResult result = timetableGeneratorService.generate(
+                    type, sessionsPerAssignment, Duration.ofSeconds(timeBudgetSeconds));
+            if (result.isComplete()) {
+                redirectAttributes.addFlashAttribute("successMessage",
+                        "Timetable generated: " + result.created() + " sessions created");
+            } else {
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "No conflict-free timetable found within the time budget (" + result.violations()
+                                + " conflicts left); nothing was saved");
+            }
+            if (!result.skipped().isEmpty()) {
+                redirectAttributes.addFlashAttribute("skippedAssignments", result.skipped());
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Error generating timetable: " + e.getMessage());
+        }
+        return "redirect:/admin/sessions";
+    }
+
+    @PostMapping("/timetables/rebuild")
+    public String rebuildStudentTimetables(RedirectAttributes redirectAttributes) {
+        try {
+            int entries = studentTimetableService.rebuild();
+            redirectAttributes.addFlashAttribute("successMessage", "Student timetables rebuilt: " + entries + " entries");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Error rebuilding student timetables: " + e.getMessage());
+        }
+        return "redirect:/admin/sessions";
+    }
+
     @GetMapping("/edit/{id}")
     public String showEditForm(@PathVariable Long id, Model model) {
         Session session = sessionService.findByIdWithRelations(id)
@@ -80,7 +217,7 @@ public class AdminSessionController {
                                 @RequestParam Long timeslotId,
                                 RedirectAttributes redirectAttributes) {
         try {
-            sessionService.updateSession(id, type, moduleId, teacherId, groupId, roomId, timeslotId);
+            concurrencyRetry.run(() -> sessionService.updateSession(id, type, moduleId, teacherId, groupId, roomId, timeslotId));
             redirectAttributes.addFlashAttribute("successMessage", "Session updated successfully");
             return "redirect:/admin/sessions";
         } catch (Exception e) {
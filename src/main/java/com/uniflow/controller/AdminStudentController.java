@@ -1,15 +1,26 @@
 package com.uniflow.controller;
 
+import com.uniflow.config.QueryBudget;
+import com.uniflow.dto.ImportResult;
+import com.uniflow.dto.KeysetPage;
+import com.uniflow.dto.PersonSummary;
+import com.uniflow.dto.StudentListItem;
 import com.uniflow.model.Student;
+import com.uniflow.service.AccountImportService;
 import com.uniflow.service.GroupService;
 import com.uniflow.service.StudentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.InputStream;
+import java.util.List;
+
 import jakarta.validation.Valid;
 
 @Controller
@@ -18,14 +29,42 @@ import jakarta.validation.Valid;
 public class AdminStudentController {
 
     private final StudentService studentService;
+    private final AccountImportService accountImportService;
     private final GroupService groupService;
 
     @GetMapping
-    public String listStudents(Model model) {
-        model.addAttribute("students", studentService.findAll());
+    @QueryBudget(2)
+    public String listStudents(@RequestParam(required = false) String program,
+                               @RequestParam(required = false) String level,
+                               @RequestParam(required = false) Long groupId,
+                               @RequestParam(required = false) Long after,
+                               @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size,
+                               Model model) {
+        KeysetPage<StudentListItem> page = studentService.findListPage(program, level, groupId, after, size);
+        model.addAttribute("page", page);
+        model.addAttribute("students", page.items());
+        model.addAttribute("groups", groupService.findOptions());
         return "admin/students/list";
     }
 
+    @GetMapping("/search")
+    @QueryBudget(2)
+    public String searchStudents(@RequestParam(required = false) String q,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "20") int size,
+                                 Model model) {
+        model.addAttribute("results", studentService.searchStudents(q, page, size));
+        model.addAttribute("section", "students");
+        return "admin/search";
+    }
+
+    @GetMapping(value = "/suggestions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<PersonSummary> suggestStudents(@RequestParam String q,
+                                               @RequestParam(defaultValue = "8") int limit) {
+        return studentService.searchStudents(q, 0, limit).getContent();
+    }
+
     @GetMapping("/create")
     public String showCreateForm(Model model) {
         model.addAttribute("groups", groupService.findAll());
@@ -52,6 +91,25 @@ public class AdminStudentController {
         }
     }
 
+    @PostMapping("/import")
+    public String importStudents(@RequestParam MultipartFile file, RedirectAttributes redirectAttributes) {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Please choose a CSV or JSON file to import");
+            return "redirect:/admin/students";
+        }
+        try (InputStream in = file.getInputStream()) {
+            ImportResult result = accountImportService.importStudents(in, file.getOriginalFilename());
+            redirectAttributes.addFlashAttribute(result.isSuccess() ? "successMessage" : "errorMessage",
+                    result.imported() + " student(s) imported, " + result.rejected() + " row(s) rejected");
+            if (!result.errors().isEmpty()) {
+                redirectAttributes.addFlashAttribute("importErrors", result.errors());
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Error importing students: " + e.getMessage());
+        }
+        return "redirect:/admin/students";
+    }
+
     @GetMapping("/edit/{id}")
     public String showEditForm(@PathVariable Long id, Model model) {
         Student student = studentService.findById(id)
@@ -1,26 +1,62 @@
 package com.uniflow.controller;
 
+import com.uniflow.config.QueryBudget;
+import com.uniflow.dto.ImportResult;
+import com.uniflow.dto.KeysetPage;
+import com.uniflow.dto.PersonSummary;
+import com.uniflow.dto.TeacherListItem;
 import com.uniflow.model.Teacher;
+import com.uniflow.service.AccountImportService;
 import com.uniflow.service.TeacherService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.io.InputStream;
+import java.util.List;
+
 @Controller
 @RequestMapping("/admin/teachers")
 @RequiredArgsConstructor
 public class AdminTeacherController {
 
     private final TeacherService teacherService;
+    private final AccountImportService accountImportService;
 
     @GetMapping
-    public String listTeachers(Model model) {
-        model.addAttribute("teachers", teacherService.findAll());
+    @QueryBudget(1)
+    public String listTeachers(@RequestParam(required = false) String specialty,
+                               @RequestParam(required = false) Long after,
+                               @RequestParam(defaultValue = "" + KeysetPage.DEFAULT_SIZE) int size,
+                               Model model) {
+        KeysetPage<TeacherListItem> page = teacherService.findListPage(specialty, after, size);
+        model.addAttribute("page", page);
+        model.addAttribute("teachers", page.items());
         return "admin/teachers/list";
     }
 
+    @GetMapping("/search")
+    @QueryBudget(2)
+    public String searchTeachers(@RequestParam(required = false) String q,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "20") int size,
+                                 Model model) {
+        model.addAttribute("results", teacherService.searchTeachers(q, page, size));
+        model.addAttribute("section", "teachers");
+        return "admin/search";
+    }
+
+    @GetMapping(value = "/suggestions", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<PersonSummary> suggestTeachers(@RequestParam String q,
+                                               @RequestParam(defaultValue = "8") int limit) {
+        return teacherService.searchTeachers(q, 0, limit).getContent();
+    }
+
     @GetMapping("/create")
     public String showCreateForm() {
         return "admin/teachers/create";
@@ -46,6 +82,25 @@ public class AdminTeacherController {
         }
     }
 
+    @PostMapping("/import")
+    public String importTeachers(@RequestParam MultipartFile file, RedirectAttributes redirectAttributes) {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Please choose a CSV or JSON file to import");
+            return "redirect:/admin/teachers";
+        }
+        try (InputStream in = file.getInputStream()) {
+            ImportResult result = accountImportService.importTeachers(in, file.getOriginalFilename());
+            redirectAttributes.addFlashAttribute(result.isSuccess() ? "successMessage" : "errorMessage",
+                    result.imported() + " teacher(s) imported, " + result.rejected() + " row(s) rejected");
+            if (!result.errors().isEmpty()) {
+                redirectAttributes.addFlashAttribute("importErrors", result.errors());
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Error importing teachers: " + e.getMessage());
+        }
+        return "redirect:/admin/teachers";
+    }
+
     @GetMapping("/edit/{id}")
     public String showEditForm(@PathVariable Long id, Model model) {
         Teacher teacher = teacherService.findById(id)
@@ -1,10 +1,10 @@
 package com.uniflow.controller;
 
+import com.uniflow.config.QueryBudget;
 import com.uniflow.model.Student;
-import com.uniflow.service.GradeService;
-import com.uniflow.service.ModuleService;
-import com.uniflow.service.SessionService;
 import com.uniflow.service.StudentService;
+import com.uniflow.service.StudentTimetableService;
+import com.uniflow.service.TranscriptService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
@@ -18,9 +18,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class StudentController {
 
     private final StudentService studentService;
-    private final SessionService sessionService;
-    private final GradeService gradeService;
-    private final ModuleService moduleService;
+    private final StudentTimetableService studentTimetableService;
+    private final TranscriptService transcriptService;
 
     @GetMapping("/dashboard")
     public String dashboard(Authentication authentication, Model model) {
@@ -30,10 +29,7 @@ public class StudentController {
 
         model.addAttribute("student", student);
         model.addAttribute("group", student.getGroup());
-        
-        if (student.getGroup() != null) {
-            model.addAttribute("sessions", sessionService.findByGroupId(student.getGroup().getId()));
-        }
+        model.addAttribute("sessions", studentTimetableService.findTimetable(student.getId()));
         
         return "student/dashboard";
     }
@@ -44,22 +40,20 @@ public class StudentController {
         Student student = studentService.findByEmail(email)
                 .orElseThrow(() -> new IllegalStateException("Student profile not found"));
 
-        if (student.getGroup() != null) {
-            model.addAttribute("sessions", sessionService.findByGroupId(student.getGroup().getId()));
-            model.addAttribute("group", student.getGroup());
-        }
+        model.addAttribute("sessions", studentTimetableService.findTimetable(student.getId()));
+        model.addAttribute("group", student.getGroup());
         
         return "student/sessions";
     }
 
     @GetMapping("/grades")
+    @QueryBudget(2)
     public String viewGrades(Authentication authentication, Model model) {
         String email = authentication.getName();
         Student student = studentService.findByEmail(email)
                 .orElseThrow(() -> new IllegalStateException("Student profile not found"));
 
-        model.addAttribute("grades", gradeService.findByStudentId(student.getId()));
-        model.addAttribute("modules", moduleService.findByStudentId(student.getId()));
+        model.addAttribute("transcript", transcriptService.getTranscript(student.getId()));
         
         return "student/grades";
     }
@@ -1,18 +1,30 @@
 package com.uniflow.controller;
 
+import com.uniflow.dto.GradeEntry;
+import com.uniflow.dto.GradeSheetResult;
 import com.uniflow.model.Enrollment;
 import com.uniflow.model.Grade;
+import com.uniflow.model.GradeJournalEntry;
 import com.uniflow.model.Module;
 import com.uniflow.model.Teacher;
 import com.uniflow.service.*;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/teacher/grades")
@@ -23,6 +35,7 @@ public class TeacherGradeController {
     private final ModuleService moduleService;
     private final EnrollmentService enrollmentService;
     private final GradeService gradeService;
+    private final GradeJournalService gradeJournalService;
 
     @GetMapping
     public String selectModule(Authentication authentication, Model model) {
@@ -48,13 +61,36 @@ public class TeacherGradeController {
             throw new IllegalStateException("You are not authorized to grade this module");
         }
 
-        List<Enrollment> enrollments = enrollmentService.findByModuleId(moduleId);
+        List<Enrollment> enrollments = enrollmentService.findGradeSheet(moduleId);
         
         model.addAttribute("module", module);
         model.addAttribute("enrollments", enrollments);
         return "teacher/grades/list-students";
     }
 
+    @PostMapping("/module/{moduleId}")
+    public String saveGradeSheet(@PathVariable Long moduleId,
+                                 HttpServletRequest request,
+                                 Authentication authentication,
+                                 RedirectAttributes redirectAttributes) {
+        try {
+            String email = authentication.getName();
+            Teacher teacher = teacherService.findByEmail(email)
+                    .orElseThrow(() -> new IllegalStateException("Teacher profile not found"));
+
+            GradeSheetResult result = gradeService.saveGradeSheet(moduleId, teacher.getId(), readGradeSheet(request));
+            if (result.isSuccess()) {
+                redirectAttributes.addFlashAttribute("successMessage", result.saved() + " grade(s) saved");
+            } else {
+                redirectAttributes.addFlashAttribute("errorMessage", "No grade saved, please correct the sheet");
+                redirectAttributes.addFlashAttribute("sheetErrors", result.errors());
+            }
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+        return "redirect:/teacher/grades/module/" + moduleId;
+    }
+
     @GetMapping("/edit/{enrollmentId}")
     public String showEditGradeForm(@PathVariable Long enrollmentId, Authentication authentication, Model model) {
         String email = authentication.getName();
@@ -108,7 +144,7 @@ public class TeacherGradeController {
                 gradeService.createGrade(enrollmentId, teacher.getId(), labGrade, examGrade, 
                         projectGrade, participationGrade, finalGrade, feedback);
             } else {
-                gradeService.updateGrade(existingGrade.getId(), labGrade, examGrade, 
+                gradeService.updateGrade(existingGrade.getId(), teacher.getId(), labGrade, examGrade, 
                         projectGrade, participationGrade, finalGrade, feedback);
             }
 
@@ -119,4 +155,89 @@ public class TeacherGradeController {
             return "redirect:/teacher/grades/edit/" + enrollmentId;
         }
     }
+
+    @GetMapping("/history/{enrollmentId}")
+    public String showGradeHistory(@PathVariable Long enrollmentId,
+                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf,
+                                   Authentication authentication,
+                                   Model model) {
+        String email = authentication.getName();
+        Teacher teacher = teacherService.findByEmail(email)
+                .orElseThrow(() -> new IllegalStateException("Teacher profile not found"));
+
+        Enrollment enrollment = enrollmentService.findById(enrollmentId)
+                .orElseThrow(() -> new IllegalArgumentException("Enrollment not found"));
+
+        // Verify teacher owns this module
+        Module module = enrollment.getModule();
+        if (module.getResponsibleTeacher() == null || !module.getResponsibleTeacher().getId().equals(teacher.getId())) {
+            throw new IllegalStateException("You are not authorized to grade this module");
+        }
+
+        Long studentId = enrollment.getStudent().getId();
+        List<GradeJournalEntry> history = gradeJournalService.findHistory(studentId, module.getId());
+        Map<Long, String> teacherNames = history.stream()
+                .map(GradeJournalEntry::getTeacherId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(teacherService::findById)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toMap(Teacher::getId, t -> t.getFirstName() + " " + t.getLastName()));
+
+        model.addAttribute("enrollment", enrollment);
+        model.addAttribute("history", history);
+        model.addAttribute("teacherNames", teacherNames);
+        if (asOf != null) {
+            model.addAttribute("asOf", asOf);
+            model.addAttribute("gradeAsOf", gradeJournalService.findGradeAsOf(studentId, module.getId(), asOf).orElse(null));
+        }
+        return "teacher/grades/history";
+    }
+
+    /**
+     * Lignes de la grille : un champ de chaque colonne par inscription, dans l'ordre du formulaire,
+     * avec la version de la note affichée.
+     * Les valeurs sont lues brutes, une liste liée par Spring perdant les cellules vides.
+     */
+    private static List<GradeEntry> readGradeSheet(HttpServletRequest request) {
+        String[] enrollmentIds = request.getParameterValues("enrollmentId");
+        if (enrollmentIds == null) {
+            return List.of();
+        }
+        List<GradeEntry> entries = new ArrayList<>(enrollmentIds.length);
+        for (int i = 0; i < enrollmentIds.length; i++) {
+            entries.add(new GradeEntry(Long.valueOf(enrollmentIds[i]),
+                    gradeAt(request, "labGrade", i),
+                    gradeAt(request, "examGrade", i),
+                    gradeAt(request, "projectGrade", i),
+                    gradeAt(request, "participationGrade", i),
+                    gradeAt(request, "finalGrade", i),
+                    versionAt(request, i)));
+        }
+        return entries;
+    }
+
+    private static Long versionAt(HttpServletRequest request, int row) {
+        String[] values = request.getParameterValues("version");
+        if (values == null || row >= values.length || !StringUtils.hasText(values[row])) {
+            return null;
+        }
+        try {
+            return Long.valueOf(values[row].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid grade version: " + values[row]);
+        }
+    }
+
+    private static Double gradeAt(HttpServletRequest request, String column, int row) {
+        String[] values = request.getParameterValues(column);
+        if (values == null || row >= values.length || !StringUtils.hasText(values[row])) {
+            return null;
+        }
+        try {
+            return Double.valueOf(values[row].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid grade: " + values[row]);
+        }
+    }
 }
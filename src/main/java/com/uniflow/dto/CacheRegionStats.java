@@ -0,0 +1,15 @@
+package com.uniflow.dto;
+
+/**
+ * Statistiques d'une région du cache de second niveau depuis le démarrage
+ */
+public record CacheRegionStats(String region, long entries, long hits, long misses, long evictions) {
+
+    /**
+     * Taux de succès, en pourcentage
+     */
+    public int hitRate() {
+        long requests = hits + misses;
+        return requests > 0 ? (int) Math.round(100.0 * hits / requests) : 0;
+    }
+}
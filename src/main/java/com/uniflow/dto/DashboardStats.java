@@ -0,0 +1,24 @@
+package com.uniflow.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Statistiques du tableau de bord administrateur, calculées par agrégats SQL puis mises en cache
+ */
+public record DashboardStats(long students, long teachers, long groups, long modules, long rooms, long sessions,
+                             long ungradedEnrollments, List<DayLoad> days, LocalDateTime computedAt) {
+
+    public static DashboardStats empty() {
+        return new DashboardStats(0, 0, 0, 0, 0, 0, 0, List.of(), LocalDateTime.now());
+    }
+
+    /**
+     * Taux de remplissage global des salles sur la semaine, en pourcentage
+     */
+    public int fillRate() {
+        long seats = days.stream().mapToLong(DayLoad::seats).sum();
+        long seated = days.stream().mapToLong(DayLoad::seated).sum();
+        return seats > 0 ? (int) Math.round(100.0 * seated / seats) : 0;
+    }
+}
@@ -0,0 +1,14 @@
+package com.uniflow.dto;
+
+/**
+ * Charge d'un jour de la semaine : sessions, places offertes par les salles et étudiants attendus
+ */
+public record DayLoad(String day, long sessions, long seats, long seated) {
+
+    /**
+     * Taux de remplissage des salles, en pourcentage
+     */
+    public int fillRate() {
+        return seats > 0 ? (int) Math.round(100.0 * seated / seats) : 0;
+    }
+}
@@ -0,0 +1,4 @@
+package com.uniflow.dto;
+
+public record EnrollmentLink(Long studentId, Long moduleId) {
+}
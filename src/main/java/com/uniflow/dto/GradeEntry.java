@@ -0,0 +1,14 @@
+package com.uniflow.dto;
+
+/**
+ * Notes d'une inscription saisies dans la grille d'un module ; une note laissée vide est effacée.
+ * {@code version} est celle de la note affichée dans la grille, {@code null} si l'inscription n'en avait pas.
+ */
+public record GradeEntry(Long enrollmentId, Double labGrade, Double examGrade, Double projectGrade,
+                         Double participationGrade, Double finalGrade, Long version) {
+
+    public boolean isEmpty() {
+        return labGrade == null && examGrade == null && projectGrade == null
+            && participationGrade == null && finalGrade == null;
+    }
+}
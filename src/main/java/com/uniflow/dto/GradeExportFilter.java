@@ -0,0 +1,35 @@
+package com.uniflow.dto;
+
+import com.uniflow.model.enums.ExportFormat;
+import org.springframework.util.StringUtils;
+
+/**
+ * Périmètre d'un export de notes : un module, une filière, un semestre, ou leur combinaison
+ */
+public record GradeExportFilter(Long moduleId, String program, Integer semester) {
+
+    public GradeExportFilter {
+        program = StringUtils.hasText(program) ? program.trim() : null;
+    }
+
+    public boolean isEmpty() {
+        return moduleId == null && program == null && semester == null;
+    }
+
+    /**
+     * Nom du fichier téléchargé, par exemple {@code grades-Informatique-s3.csv}
+     */
+    public String fileName(ExportFormat format) {
+        StringBuilder name = new StringBuilder("grades");
+        if (moduleId != null) {
+            name.append("-module-").append(moduleId);
+        }
+        if (program != null) {
+            name.append('-').append(program.replaceAll("[^A-Za-z0-9]+", "_"));
+        }
+        if (semester != null) {
+            name.append("-s").append(semester);
+        }
+        return name.append('.').append(format.getExtension()).toString();
+    }
+}
@@ -0,0 +1,28 @@
+package com.uniflow.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ligne de l'export des notes : étudiant, module, composantes et enseignant ayant noté
+ */
+public record GradeExportRow(Long studentId, String lastName, String firstName, String email, String groupName,
+                             String program, Integer semester, String moduleName, Integer volumeHours,
+                             Double labGrade, Double examGrade, Double projectGrade, Double participationGrade,
+                             Double finalGrade, String feedback, String teacherFirstName, String teacherLastName) {
+
+    public static final List<String> HEADER = List.of(
+        "Student ID", "Last Name", "First Name", "Email", "Group",
+        "Program", "Semester", "Module", "Volume Hours",
+        "Lab", "Exam", "Project", "Participation", "Final Grade", "Feedback", "Graded By");
+
+    /**
+     * Valeurs dans l'ordre de {@link #HEADER}
+     */
+    public List<Object> values() {
+        return Arrays.asList(studentId, lastName, firstName, email, groupName,
+            program, semester, moduleName, volumeHours,
+            labGrade, examGrade, projectGrade, participationGrade, finalGrade, feedback,
+            teacherFirstName + " " + teacherLastName);
+    }
+}
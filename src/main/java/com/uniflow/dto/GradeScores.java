@@ -0,0 +1,33 @@
+package com.uniflow.dto;
+
+import com.uniflow.model.Grade;
+import com.uniflow.model.enums.GradeComponent;
+
+/**
+ * Vue compacte d'une note : son module, son étudiant et ses composantes, utiles aux statistiques et aux relevés.
+ */
+public record GradeScores(Long gradeId, Long moduleId, Long studentId, Double labGrade, Double examGrade,
+                          Double projectGrade, Double participationGrade, Double finalGrade) {
+
+    public static GradeScores of(Grade grade) {
+        return new GradeScores(
+                grade.getId(),
+                grade.getEnrollment().getModule().getId(),
+                grade.getEnrollment().getStudent().getId(),
+                grade.getLabGrade(),
+                grade.getExamGrade(),
+                grade.getProjectGrade(),
+                grade.getParticipationGrade(),
+                grade.getFinalGrade());
+    }
+
+    public Double get(GradeComponent component) {
+        return switch (component) {
+            case LAB -> labGrade;
+            case EXAM -> examGrade;
+            case PROJECT -> projectGrade;
+            case PARTICIPATION -> participationGrade;
+            case FINAL -> finalGrade;
+        };
+    }
+}
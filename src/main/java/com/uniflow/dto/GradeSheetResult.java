@@ -0,0 +1,13 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Bilan de l'enregistrement d'une grille de notes : rien n'est écrit tant qu'il reste une erreur
+ */
+public record GradeSheetResult(int saved, List<String> errors) {
+
+    public boolean isSuccess() {
+        return errors.isEmpty();
+    }
+}
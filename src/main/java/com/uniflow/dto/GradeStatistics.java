@@ -0,0 +1,20 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Statistiques d'une composante de note sur un module. Sans note saisie, seuls l'effectif (0)
+ * et l'histogramme (vide) sont renseignés. L'histogramme compte les notes par tranche de
+ * {@link #BUCKET_WIDTH} points sur l'échelle 0-20, la note 20 comptant dans la dernière tranche.
+ */
+public record GradeStatistics(long count, Double mean, Double median, Double standardDeviation,
+                              Double min, Double max, Double passRate, List<Long> histogram) {
+
+    public static final double PASS_MARK = 10.0;
+    public static final int BUCKET_WIDTH = 2;
+    public static final int BUCKETS = 20 / BUCKET_WIDTH;
+
+    public String bucketLabel(int bucket) {
+        return (bucket * BUCKET_WIDTH) + "-" + ((bucket + 1) * BUCKET_WIDTH);
+    }
+}
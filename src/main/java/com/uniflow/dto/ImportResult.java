@@ -0,0 +1,14 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import de comptes : les lignes valides sont enregistrées, les autres rejetées
+ * (liste d'erreurs éventuellement tronquée, {@code rejected} compte toutes les lignes rejetées)
+ */
+public record ImportResult(int imported, int rejected, List<String> errors) {
+
+    public boolean isSuccess() {
+        return rejected == 0;
+    }
+}
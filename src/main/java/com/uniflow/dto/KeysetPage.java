@@ -0,0 +1,48 @@
+package com.uniflow.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page d'une liste parcourue par clé (identifiant croissant) : la page suivante reprend
+ * après {@code nextAfter}, sans OFFSET, et coûte le même prix quelle que soit sa position
+ */
+public record KeysetPage<T>(List<T> items, Long nextAfter) {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    public boolean hasNext() {
+        return nextAfter != null;
+    }
+
+    /**
+     * Limite de la requête : une ligne de plus que la page, pour savoir s'il existe une suite
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.ofSize(clamp(size) + 1);
+    }
+
+    /**
+     * Premier identifiant exclu : 0 pour la première page
+     */
+    public static long start(Long after) {
+        return after != null ? after : 0L;
+    }
+
+    public static <T> KeysetPage<T> of(List<T> fetched, int size, Function<T, Long> idOf) {
+        int pageSize = clamp(size);
+        if (fetched.size() <= pageSize) {
+            return new KeysetPage<>(fetched, null);
+        }
+        List<T> items = List.copyOf(fetched.subList(0, pageSize));
+        return new KeysetPage<>(items, idOf.apply(items.get(pageSize - 1)));
+    }
+
+    private static int clamp(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -0,0 +1,7 @@
+package com.uniflow.dto;
+
+/**
+ * Affectation d'un groupe à un module, avec l'enseignant responsable du module (éventuellement nul)
+ */
+public record ModuleGroupAssignment(Long moduleId, String moduleName, Long groupId, Long teacherId) {
+}
@@ -0,0 +1,10 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Ligne de la liste des modules (admin), groupes affectés compris
+ */
+public record ModuleListItem(Long id, String name, String program, Integer semester, Integer volumeHours,
+                             String responsibleTeacher, List<String> groupNames) {
+}
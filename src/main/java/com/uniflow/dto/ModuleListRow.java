@@ -0,0 +1,8 @@
+package com.uniflow.dto;
+
+/**
+ * Ligne brute de la liste des modules : une par groupe affecté (groupName null si aucun)
+ */
+public record ModuleListRow(Long id, String name, String program, Integer semester, Integer volumeHours,
+                            String teacherFirstName, String teacherLastName, String groupName) {
+}
@@ -0,0 +1,9 @@
+package com.uniflow.dto;
+
+import java.time.LocalTime;
+
+/**
+ * Créneau occupé par un module (une ligne par couple module/créneau)
+ */
+public record ModuleTimeslot(Long moduleId, String moduleName, Long timeslotId, String dayOfWeek, LocalTime startTime) {
+}
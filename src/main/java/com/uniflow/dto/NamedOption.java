@@ -0,0 +1,7 @@
+package com.uniflow.dto;
+
+/**
+ * Entrée d'une liste déroulante de filtre : identifiant et libellé
+ */
+public record NamedOption(Long id, String name) {
+}
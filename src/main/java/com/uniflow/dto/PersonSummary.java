@@ -0,0 +1,9 @@
+package com.uniflow.dto;
+
+import com.uniflow.model.enums.RoleEnum;
+
+/**
+ * Étudiant ou enseignant tel qu'indexé pour la recherche par nom ou email
+ */
+public record PersonSummary(Long id, RoleEnum role, String firstName, String lastName, String email) {
+}
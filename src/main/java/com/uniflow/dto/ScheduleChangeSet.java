@@ -0,0 +1,14 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Ensemble de modifications simulées ou appliquées d'un seul bloc ; les échanges sont appliqués après les déplacements
+ */
+public record ScheduleChangeSet(List<SessionMove> moves, List<SessionSwap> swaps) {
+
+    public ScheduleChangeSet {
+        moves = moves != null ? moves : List.of();
+        swaps = swaps != null ? swaps : List.of();
+    }
+}
@@ -0,0 +1,16 @@
+package com.uniflow.dto;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Photographie immuable de l'emploi du temps, partagée par les simulations.
+ * Les bitsets sont des copies : ils ne doivent pas être modifiés.
+ */
+public record ScheduleSnapshot(Map<Long, SessionSlot> sessions,
+                               Map<Long, List<SessionSlot>> sessionsByTimeslot,
+                               Map<Long, BitSet> studentsByModule,
+                               Map<Long, BitSet> studentsByGroup,
+                               Map<Long, Integer> roomCapacities) {
+}
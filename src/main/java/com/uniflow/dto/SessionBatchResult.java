@@ -0,0 +1,13 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'une création de sessions en lot : rien n'est créé tant qu'il reste une erreur
+ */
+public record SessionBatchResult(int created, List<String> errors) {
+
+    public boolean isSuccess() {
+        return errors.isEmpty();
+    }
+}
@@ -0,0 +1,10 @@
+package com.uniflow.dto;
+
+import com.uniflow.model.enums.SessionTypeEnum;
+
+/**
+ * Définition d'une session à créer, telle que reçue par l'import en lot
+ */
+public record SessionDefinition(SessionTypeEnum type, Long moduleId, Long teacherId,
+                                Long groupId, Long roomId, Long timeslotId) {
+}
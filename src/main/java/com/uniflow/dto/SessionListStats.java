@@ -0,0 +1,7 @@
+package com.uniflow.dto;
+
+/**
+ * Totaux de l'emploi du temps affichés sous la liste des sessions
+ */
+public record SessionListStats(long sessions, long teachers, long groups, long rooms) {
+}
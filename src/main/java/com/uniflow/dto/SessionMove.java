@@ -0,0 +1,7 @@
+package com.uniflow.dto;
+
+/**
+ * Déplacement d'une session ; un créneau ou une salle {@code null} reste inchangé
+ */
+public record SessionMove(Long sessionId, Long timeslotId, Long roomId) {
+}
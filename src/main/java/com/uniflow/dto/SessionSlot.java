@@ -0,0 +1,19 @@
+package com.uniflow.dto;
+
+import com.uniflow.model.Session;
+
+/**
+ * Vue compacte d'une session : uniquement les identifiants utiles à la détection de conflits.
+ */
+public record SessionSlot(Long id, Long moduleId, Long teacherId, Long groupId, Long roomId, Long timeslotId) {
+
+    public static SessionSlot of(Session session) {
+        return new SessionSlot(
+                session.getId(),
+                session.getModule().getId(),
+                session.getTeacher().getId(),
+                session.getGroup().getId(),
+                session.getRoom().getId(),
+                session.getTimeslot().getId());
+    }
+}
@@ -0,0 +1,7 @@
+package com.uniflow.dto;
+
+/**
+ * Échange des créneaux et salles de deux sessions
+ */
+public record SessionSwap(Long firstSessionId, Long secondSessionId) {
+}
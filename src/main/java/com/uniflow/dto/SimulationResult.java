@@ -0,0 +1,13 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Résultat d'une simulation : sessions modifiées (état final) et conflits des créneaux touchés
+ */
+public record SimulationResult(List<SessionSlot> changes, List<String> conflicts, boolean applied) {
+
+    public boolean isConflictFree() {
+        return conflicts.isEmpty();
+    }
+}
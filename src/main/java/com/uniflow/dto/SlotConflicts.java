@@ -0,0 +1,40 @@
+package com.uniflow.dto;
+
+import java.util.Locale;
+
+/**
+ * Dimensions d'un créneau déjà prises par une autre session : salle, enseignant, groupe.
+ */
+public record SlotConflicts(boolean room, boolean teacher, boolean group) {
+
+    public static final SlotConflicts NONE = new SlotConflicts(false, false, false);
+
+    public boolean any() {
+        return room || teacher || group;
+    }
+
+    /**
+     * Dimension protégée par une contrainte d'unicité de la table sessions,
+     * ou {@code null} si la contrainte n'en fait pas partie.
+     * Selon la base, le nom est qualifié par le schéma, suffixé par l'index ou suivi de la table.
+     */
+    public static SlotConflicts ofConstraint(String constraintName) {
+        if (constraintName == null) {
+            return null;
+        }
+        String name = constraintName.toLowerCase(Locale.ROOT);
+        int table = name.indexOf(" on ");
+        if (table >= 0) {
+            name = name.substring(0, table);
+        }
+        name = name.substring(name.lastIndexOf('.') + 1);
+        if (name.startsWith("uq_session_room_timeslot")) {
+            return new SlotConflicts(true, false, false);
+        } else if (name.startsWith("uq_session_teacher_timeslot")) {
+            return new SlotConflicts(false, true, false);
+        } else if (name.startsWith("uq_session_group_timeslot")) {
+            return new SlotConflicts(false, false, true);
+        }
+        return null;
+    }
+}
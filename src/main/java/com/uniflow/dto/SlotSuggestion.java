@@ -0,0 +1,11 @@
+package com.uniflow.dto;
+
+import com.uniflow.model.Room;
+import com.uniflow.model.Timeslot;
+
+/**
+ * Créneau et salle où une session passerait toutes les vérifications de conflit ;
+ * {@code freeSeats} est le nombre de places restantes une fois le groupe installé.
+ */
+public record SlotSuggestion(Timeslot timeslot, Room room, int freeSeats) {
+}
@@ -0,0 +1,4 @@
+package com.uniflow.dto;
+
+public record StudentGroupLink(Long studentId, Long groupId) {
+}
@@ -0,0 +1,8 @@
+package com.uniflow.dto;
+
+/**
+ * Ligne de la liste des étudiants (admin)
+ */
+public record StudentListItem(Long id, String firstName, String lastName, String email,
+                              String program, String level, String groupName) {
+}
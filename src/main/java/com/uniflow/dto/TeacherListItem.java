@@ -0,0 +1,8 @@
+package com.uniflow.dto;
+
+/**
+ * Ligne de la liste des enseignants (admin)
+ */
+public record TeacherListItem(Long id, String firstName, String lastName, String email,
+                              String grade, String specialty, Integer workloadHours) {
+}
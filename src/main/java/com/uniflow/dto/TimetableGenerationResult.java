@@ -0,0 +1,13 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'une génération automatique : sessions créées, violations restantes et cours ignorés
+ */
+public record TimetableGenerationResult(int created, int violations, List<String> skipped) {
+
+    public boolean isComplete() {
+        return violations == 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.uniflow.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Relevé de notes d'un étudiant : semestres dans l'ordre, moyenne générale (GPA, sur 20)
+ * pondérée par le volume horaire des modules notés.
+ */
+public record Transcript(Long studentId, List<TranscriptSemester> semesters, Double average,
+                         long gradedHours, long passedHours, LocalDateTime computedAt) {
+
+    public boolean isEmpty() {
+        return semesters.isEmpty();
+    }
+}
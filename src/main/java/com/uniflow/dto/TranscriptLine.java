@@ -0,0 +1,13 @@
+package com.uniflow.dto;
+
+/**
+ * Module suivi par un étudiant et sa note (composantes nulles tant qu'elle n'est pas saisie)
+ */
+public record TranscriptLine(Long moduleId, String moduleName, Integer semester, Integer volumeHours,
+                             Double labGrade, Double examGrade, Double projectGrade, Double participationGrade,
+                             Double finalGrade, String feedback) {
+
+    public boolean isGraded() {
+        return finalGrade != null;
+    }
+}
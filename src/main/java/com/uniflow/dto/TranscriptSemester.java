@@ -0,0 +1,10 @@
+package com.uniflow.dto;
+
+import java.util.List;
+
+/**
+ * Modules d'un semestre et leur moyenne pondérée par le volume horaire ({@code null} sans note finale)
+ */
+public record TranscriptSemester(Integer semester, List<TranscriptLine> lines, Double average,
+                                 long gradedHours, long passedHours) {
+}
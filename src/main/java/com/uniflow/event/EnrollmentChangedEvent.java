@@ -0,0 +1,7 @@
+package com.uniflow.event;
+
+/**
+ * Published when a student is enrolled in ({@code enrolled == true}) or removed from a module.
+ */
+public record EnrollmentChangedEvent(Long studentId, Long moduleId, boolean enrolled) {
+}
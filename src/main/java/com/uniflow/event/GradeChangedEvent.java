@@ -0,0 +1,10 @@
+package com.uniflow.event;
+
+import com.uniflow.dto.GradeScores;
+
+/**
+ * Published when a grade is created ({@code before == null}), updated, or deleted ({@code after == null}).
+ * {@code teacherId} is the teacher who made the change, {@code null} for administrative changes.
+ */
+public record GradeChangedEvent(GradeScores before, GradeScores after, Long teacherId) {
+}
@@ -0,0 +1,7 @@
+package com.uniflow.event;
+
+/**
+ * Published when a module is created, its details (name, semester, volume hours...) are updated, or it is deleted.
+ */
+public record ModuleChangedEvent(Long moduleId) {
+}
@@ -0,0 +1,7 @@
+package com.uniflow.event;
+
+/**
+ * Published when the groups a module is taught to are reassigned.
+ */
+public record ModuleGroupsChangedEvent(Long moduleId) {
+}
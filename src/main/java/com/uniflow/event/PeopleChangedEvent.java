@@ -0,0 +1,13 @@
+package com.uniflow.event;
+
+import java.util.List;
+
+/**
+ * Published when student or teacher accounts are created, renamed, re-addressed or deleted.
+ */
+public record PeopleChangedEvent(List<Long> userIds) {
+
+    public static PeopleChangedEvent of(Long userId) {
+        return new PeopleChangedEvent(List.of(userId));
+    }
+}
@@ -0,0 +1,7 @@
+package com.uniflow.event;
+
+/**
+ * Published when a room is created or updated, or deleted ({@code capacity == null}).
+ */
+public record RoomChangedEvent(Long roomId, Integer capacity) {
+}
@@ -0,0 +1,9 @@
+package com.uniflow.event;
+
+import com.uniflow.dto.SessionSlot;
+
+/**
+ * Published when a session is created ({@code before == null}), updated, or deleted ({@code after == null}).
+ */
+public record SessionChangedEvent(SessionSlot before, SessionSlot after) {
+}
@@ -0,0 +1,7 @@
+package com.uniflow.event;
+
+/**
+ * Published when a student is created, moves between groups, or is deleted ({@code removed == true}).
+ */
+public record StudentChangedEvent(Long studentId, Long previousGroupId, Long groupId, boolean removed) {
+}
@@ -0,0 +1,11 @@
+package com.uniflow.event;
+
+import com.uniflow.dto.StudentGroupLink;
+
+import java.util.List;
+
+/**
+ * Published once per imported batch of new students, with the group of each student that has one.
+ */
+public record StudentsImportedEvent(List<StudentGroupLink> students) {
+}
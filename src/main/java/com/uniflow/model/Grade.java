@@ -15,7 +15,8 @@ import lombok.*;
 public class Grade {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grades_seq")
+    @SequenceGenerator(name = "grades_seq", sequenceName = "grades_id_seq", allocationSize = 50)
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY, optional = false)
@@ -55,4 +56,8 @@ public class Grade {
 
     @Column(columnDefinition = "TEXT")
     private String feedback;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,79 @@
+package com.uniflow.model;
+
+import com.uniflow.model.enums.GradeChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrée du journal des notes : une création, modification ou suppression de note, avec les valeurs
+ * avant et après, l'enseignant et l'instant du commit. Le journal n'est jamais modifié (voir db/grade_journal.sql) ;
+ * il ne référence ni la note ni l'étudiant par clé étrangère, pour survivre à leur suppression.
+ */
+@Entity
+@Immutable
+@Table(name = "grade_journal", indexes = {
+    @Index(name = "idx_grade_journal_student_module", columnList = "student_id, module_id, changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GradeJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grade_journal_seq")
+    @SequenceGenerator(name = "grade_journal_seq", sequenceName = "grade_journal_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "grade_id", nullable = false)
+    private Long gradeId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "module_id", nullable = false)
+    private Long moduleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 10)
+    private GradeChangeType changeType;
+
+    @Column(name = "teacher_id")
+    private Long teacherId;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "old_lab_grade")
+    private Double oldLabGrade;
+
+    @Column(name = "new_lab_grade")
+    private Double newLabGrade;
+
+    @Column(name = "old_exam_grade")
+    private Double oldExamGrade;
+
+    @Column(name = "new_exam_grade")
+    private Double newExamGrade;
+
+    @Column(name = "old_project_grade")
+    private Double oldProjectGrade;
+
+    @Column(name = "new_project_grade")
+    private Double newProjectGrade;
+
+    @Column(name = "old_participation_grade")
+    private Double oldParticipationGrade;
+
+    @Column(name = "new_participation_grade")
+    private Double newParticipationGrade;
+
+    @Column(name = "old_final_grade")
+    private Double oldFinalGrade;
+
+    @Column(name = "new_final_grade")
+    private Double newFinalGrade;
+}
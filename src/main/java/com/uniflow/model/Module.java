@@ -6,11 +6,15 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "modules", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"name", "program", "semester"})
 })
@@ -21,7 +25,8 @@ import java.util.Set;
 public class Module {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "modules_seq")
+    @SequenceGenerator(name = "modules_seq", sequenceName = "modules_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 150)
@@ -52,6 +57,7 @@ public class Module {
     private Teacher responsibleTeacher;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "module_groups",
         joinColumns = @JoinColumn(name = "module_id"),
@@ -18,7 +18,8 @@ import lombok.*;
 public class Session {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sessions_seq")
+    @SequenceGenerator(name = "sessions_seq", sequenceName = "sessions_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -50,4 +51,8 @@ public class Session {
     @JoinColumn(name = "timeslot_id", nullable = false)
     @NotNull(message = "Timeslot is required")
     private Timeslot timeslot;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,47 @@
+package com.uniflow.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+
+/**
+ * Ligne de l'emploi du temps matérialisé d'un étudiant : une session de son groupe
+ * ou d'un module qu'il suit hors de son groupe. Tenu à jour par StudentTimetableService.
+ * Le schéma généré par Hibernate ordonne la clé (session_id, student_id) : l'index
+ * sur student_id sert la lecture par étudiant (db/student_timetable.sql place student_id en tête de clé).
+ */
+@Entity
+@Table(name = "student_timetable", indexes = {
+    @Index(name = "idx_student_timetable_student_id", columnList = "student_id")
+})
+@IdClass(StudentTimetableEntry.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentTimetableEntry {
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "session_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Session session;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private Long student;
+        private Long session;
+    }
+}
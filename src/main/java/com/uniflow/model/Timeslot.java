@@ -5,10 +5,14 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "timeslots", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"day_of_week", "start_time", "end_time"})
 })
@@ -19,7 +23,8 @@ import java.time.LocalTime;
 public class Timeslot {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timeslots_seq")
+    @SequenceGenerator(name = "timeslots_seq", sequenceName = "timeslots_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "day_of_week", nullable = false, length = 12)
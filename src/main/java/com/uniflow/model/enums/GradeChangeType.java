@@ -0,0 +1,7 @@
+package com.uniflow.model.enums;
+
+public enum GradeChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,19 @@
+package com.uniflow.model.enums;
+
+public enum GradeComponent {
+    LAB("Lab"),
+    EXAM("Exam"),
+    PROJECT("Project"),
+    PARTICIPATION("Participation"),
+    FINAL("Final");
+
+    private final String label;
+
+    GradeComponent(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
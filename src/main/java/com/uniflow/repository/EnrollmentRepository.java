@@ -1,5 +1,7 @@
 package com.uniflow.repository;
 
+import com.uniflow.dto.EnrollmentLink;
+import com.uniflow.dto.TranscriptLine;
 import com.uniflow.model.Enrollment;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -17,6 +19,37 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     
     @Query("SELECT e FROM Enrollment e JOIN e.module m WHERE m.responsibleTeacher.id = :teacherId")
     List<Enrollment> findByTeacherId(@Param("teacherId") Long teacherId);
+
+    /**
+     * Inscriptions d'un module avec l'étudiant, son compte, son groupe et sa note, en une requête
+     */
+    @Query("SELECT e FROM Enrollment e " +
+           "JOIN FETCH e.student s " +
+           "JOIN FETCH s.user " +
+           "LEFT JOIN FETCH s.group " +
+           "LEFT JOIN FETCH e.grade " +
+           "WHERE e.module.id = :moduleId " +
+           "ORDER BY s.lastName, s.firstName, e.id")
+    List<Enrollment> findGradeSheetByModuleId(@Param("moduleId") Long moduleId);
     
+    /**
+     * Modules suivis par l'étudiant avec leur note, par semestre puis nom, en une requête
+     */
+    @Query("SELECT new com.uniflow.dto.TranscriptLine(m.id, m.name, m.semester, m.volumeHours, " +
+           "g.labGrade, g.examGrade, g.projectGrade, g.participationGrade, g.finalGrade, g.feedback) " +
+           "FROM Enrollment e JOIN e.module m LEFT JOIN e.grade g " +
+           "WHERE e.student.id = :studentId " +
+           "ORDER BY m.semester, m.name, m.id")
+    List<TranscriptLine> findTranscriptLines(@Param("studentId") Long studentId);
+
     boolean existsByStudentIdAndModuleId(Long studentId, Long moduleId);
+    
+    @Query("SELECT new com.uniflow.dto.EnrollmentLink(e.student.id, e.module.id) FROM Enrollment e")
+    List<EnrollmentLink> findAllLinks();
+
+    @Query("SELECT new com.uniflow.dto.EnrollmentLink(e.student.id, e.module.id) FROM Enrollment e WHERE e.module.id = :moduleId")
+    List<EnrollmentLink> findLinksByModuleId(@Param("moduleId") Long moduleId);
+
+    @Query("SELECT COUNT(e) FROM Enrollment e LEFT JOIN e.grade g WHERE g.id IS NULL OR g.finalGrade IS NULL")
+    long countUngraded();
 }
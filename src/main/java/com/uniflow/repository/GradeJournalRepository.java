@@ -0,0 +1,30 @@
+package com.uniflow.repository;
+
+import com.uniflow.model.GradeJournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface GradeJournalRepository extends JpaRepository<GradeJournalEntry, Long> {
+
+    /**
+     * Historique de la note d'une inscription (étudiant, module), du plus récent au plus ancien
+     */
+    List<GradeJournalEntry> findByStudentIdAndModuleIdOrderByChangedAtDescIdDesc(Long studentId, Long moduleId);
+
+    /**
+     * Dernier changement validé à l'instant donné
+     */
+    Optional<GradeJournalEntry> findFirstByStudentIdAndModuleIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(
+            Long studentId, Long moduleId, LocalDateTime instant);
+
+    /**
+     * Premier changement postérieur à l'instant donné
+     */
+    Optional<GradeJournalEntry> findFirstByStudentIdAndModuleIdAndChangedAtAfterOrderByChangedAtAscIdAsc(
+            Long studentId, Long moduleId, LocalDateTime instant);
+}
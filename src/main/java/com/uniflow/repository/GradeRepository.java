@@ -1,17 +1,27 @@
 package com.uniflow.repository;
 
+import com.uniflow.dto.GradeExportRow;
+import com.uniflow.dto.GradeScores;
 import com.uniflow.model.Grade;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GradeRepository extends JpaRepository<Grade, Long> {
     Optional<Grade> findByEnrollmentId(Long enrollmentId);
+
+    @Query("SELECT g FROM Grade g JOIN FETCH g.enrollment e WHERE e.student.id = :studentId AND e.module.id = :moduleId")
+    Optional<Grade> findByStudentIdAndModuleId(@Param("studentId") Long studentId, @Param("moduleId") Long moduleId);
     List<Grade> findByGivenByTeacherId(Long teacherId);
     
     @Query("SELECT g FROM Grade g WHERE g.enrollment.student.id = :studentId")
@@ -22,4 +32,41 @@ public interface GradeRepository extends JpaRepository<Grade, Long> {
     
     @Query("SELECT g FROM Grade g WHERE g.enrollment.module.id = :moduleId AND g.givenByTeacher.id = :teacherId")
     List<Grade> findByModuleIdAndTeacherId(@Param("moduleId") Long moduleId, @Param("teacherId") Long teacherId);
+
+    @Query("SELECT new com.uniflow.dto.GradeScores(g.id, e.module.id, e.student.id, g.labGrade, g.examGrade, " +
+           "g.projectGrade, g.participationGrade, g.finalGrade) FROM Grade g JOIN g.enrollment e")
+    List<GradeScores> findAllScores();
+
+    @Query("SELECT new com.uniflow.dto.GradeScores(g.id, e.module.id, e.student.id, g.labGrade, g.examGrade, " +
+           "g.projectGrade, g.participationGrade, g.finalGrade) FROM Grade g JOIN g.enrollment e WHERE e.student.id = :studentId")
+    List<GradeScores> findScoresByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT new com.uniflow.dto.GradeScores(g.id, e.module.id, e.student.id, g.labGrade, g.examGrade, " +
+           "g.projectGrade, g.participationGrade, g.finalGrade) FROM Grade g JOIN g.enrollment e WHERE e.module.id = :moduleId")
+    List<GradeScores> findScoresByModuleId(@Param("moduleId") Long moduleId);
+
+    @Query("SELECT new com.uniflow.dto.GradeScores(g.id, e.module.id, e.student.id, g.labGrade, g.examGrade, " +
+           "g.projectGrade, g.participationGrade, g.finalGrade) FROM Grade g JOIN g.enrollment e WHERE e.student.group.id = :groupId")
+    List<GradeScores> findScoresByGroupId(@Param("groupId") Long groupId);
+
+    @Query("SELECT g.enrollment.id FROM Grade g WHERE g.enrollment.id IN :enrollmentIds")
+    List<Long> findGradedEnrollmentIds(@Param("enrollmentIds") Collection<Long> enrollmentIds);
+
+    /**
+     * Notes du périmètre exporté, lues au fil d'un curseur (lots de 1000 lignes) : à consommer dans une
+     * transaction et à fermer. Les lignes sont des projections, jamais attachées au contexte de persistance.
+     */
+    @Query("SELECT new com.uniflow.dto.GradeExportRow(s.id, s.lastName, s.firstName, u.email, gr.name, " +
+           "m.program, m.semester, m.name, m.volumeHours, " +
+           "g.labGrade, g.examGrade, g.projectGrade, g.participationGrade, g.finalGrade, g.feedback, " +
+           "t.firstName, t.lastName) " +
+           "FROM Grade g JOIN g.enrollment e JOIN e.module m JOIN e.student s JOIN s.user u " +
+           "LEFT JOIN s.group gr JOIN g.givenByTeacher t " +
+           "WHERE (:moduleId IS NULL OR m.id = :moduleId) " +
+           "AND (:program IS NULL OR m.program = :program) " +
+           "AND (:semester IS NULL OR m.semester = :semester) " +
+           "ORDER BY m.program, m.semester, m.name, m.id, s.lastName, s.firstName, s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<GradeExportRow> streamExportRows(@Param("moduleId") Long moduleId, @Param("program") String program,
+                                            @Param("semester") Integer semester);
 }
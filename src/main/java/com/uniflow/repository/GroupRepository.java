@@ -1,7 +1,12 @@
 package com.uniflow.repository;
 
+import com.uniflow.dto.NamedOption;
 import com.uniflow.model.Group;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +14,15 @@ import java.util.Optional;
 
 @Repository
 public interface GroupRepository extends JpaRepository<Group, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Group> findAll();
+
+    @Query("SELECT new com.uniflow.dto.NamedOption(g.id, g.name) FROM Group g ORDER BY g.name, g.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<NamedOption> findOptions();
+
     List<Group> findByProgramAndLevel(String program, String level);
     Optional<Group> findByNameAndProgramAndLevel(String name, String program, String level);
     List<Group> findByProgram(String program);
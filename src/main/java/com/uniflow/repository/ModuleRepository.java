@@ -1,16 +1,28 @@
 package com.uniflow.repository;
 
+import com.uniflow.dto.ModuleGroupAssignment;
+import com.uniflow.dto.ModuleListRow;
 import com.uniflow.model.Module;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ModuleRepository extends JpaRepository<Module, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Module> findAll();
+
     List<Module> findByProgramAndSemester(String program, Integer semester);
     Optional<Module> findByNameAndProgramAndSemester(String name, String program, Integer semester);
     List<Module> findByResponsibleTeacherId(Long teacherId);
@@ -20,4 +32,23 @@ public interface ModuleRepository extends JpaRepository<Module, Long> {
     
     @Query("SELECT DISTINCT m FROM Module m JOIN Enrollment e ON e.module.id = m.id WHERE e.student.id = :studentId")
     List<Module> findByStudentId(@Param("studentId") Long studentId);
+    
+    @Query("SELECT new com.uniflow.dto.ModuleGroupAssignment(m.id, m.name, g.id, t.id) " +
+           "FROM Module m JOIN m.assignedGroups g LEFT JOIN m.responsibleTeacher t")
+    List<ModuleGroupAssignment> findAllGroupAssignments();
+
+    @Query("SELECT new com.uniflow.dto.ModuleListRow(m.id, m.name, m.program, m.semester, m.volumeHours, " +
+           "t.firstName, t.lastName, g.name) " +
+           "FROM Module m LEFT JOIN m.responsibleTeacher t LEFT JOIN m.assignedGroups g " +
+           "WHERE m.id IN :ids ORDER BY m.id, g.name")
+    List<ModuleListRow> findListRows(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT m.id FROM Module m " +
+           "WHERE m.id > :afterId " +
+           "AND (:program IS NULL OR m.program = :program) " +
+           "AND (:teacherId IS NULL OR m.responsibleTeacher.id = :teacherId) " +
+           "AND (:groupId IS NULL OR EXISTS (SELECT g FROM m.assignedGroups g WHERE g.id = :groupId)) " +
+           "ORDER BY m.id")
+    List<Long> findListIds(@Param("program") String program, @Param("teacherId") Long teacherId,
+                           @Param("groupId") Long groupId, @Param("afterId") long afterId, Pageable limit);
 }
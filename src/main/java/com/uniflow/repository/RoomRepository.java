@@ -1,13 +1,28 @@
 package com.uniflow.repository;
 
+import com.uniflow.dto.NamedOption;
 import com.uniflow.model.Room;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Room> findAll();
+
+    @Query("SELECT new com.uniflow.dto.NamedOption(r.id, r.name) FROM Room r ORDER BY r.name, r.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<NamedOption> findOptions();
+
     Optional<Room> findByName(String name);
     boolean existsByName(String name);
 }
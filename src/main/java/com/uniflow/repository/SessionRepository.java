@@ -1,8 +1,17 @@
 package com.uniflow.repository;
 
+import com.uniflow.dto.DayLoad;
+import com.uniflow.dto.ModuleTimeslot;
+import com.uniflow.dto.SessionListStats;
+import com.uniflow.dto.SessionSlot;
 import com.uniflow.model.Session;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,6 +31,16 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     List<Session> findByGroupIdAndTimeslotId(Long groupId, Long timeslotId);
     List<Session> findByRoomIdAndTimeslotId(Long roomId, Long timeslotId);
     
+    @Query("SELECT DISTINCT s.timeslot.id FROM Session s WHERE s.module.id = :moduleId")
+    List<Long> findTimeslotIdsByModuleId(@Param("moduleId") Long moduleId);
+    
+    @Query("SELECT DISTINCT new com.uniflow.dto.ModuleTimeslot(m.id, m.name, t.id, t.dayOfWeek, t.startTime) " +
+           "FROM Session s JOIN s.module m JOIN s.timeslot t " +
+           "WHERE m.id IN (SELECT e.module.id FROM Enrollment e WHERE e.student.id = :studentId) " +
+           "AND m.id <> :excludedModuleId")
+    List<ModuleTimeslot> findTimeslotsOfStudentModules(@Param("studentId") Long studentId,
+                                                       @Param("excludedModuleId") Long excludedModuleId);
+    
     @Query("SELECT s FROM Session s WHERE s.group.id = :groupId ORDER BY s.timeslot.dayOfWeek, s.timeslot.startTime")
     List<Session> findByGroupIdOrderByTimeslot(@Param("groupId") Long groupId);
     
@@ -44,4 +63,70 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
            "LEFT JOIN FETCH s.room " +
            "LEFT JOIN FETCH s.timeslot")
     List<Session> findAllWithRelations();
+
+    @Query("SELECT s FROM Session s " +
+           "LEFT JOIN FETCH s.module m " +
+           "LEFT JOIN FETCH s.teacher t " +
+           "LEFT JOIN FETCH s.group g " +
+           "LEFT JOIN FETCH s.room r " +
+           "LEFT JOIN FETCH s.timeslot ts " +
+           "WHERE s.id > :afterId " +
+           "AND (:program IS NULL OR m.program = :program) " +
+           "AND (:groupId IS NULL OR g.id = :groupId) " +
+           "AND (:teacherId IS NULL OR t.id = :teacherId) " +
+           "AND (:roomId IS NULL OR r.id = :roomId) " +
+           "AND (:day IS NULL OR ts.dayOfWeek = :day) " +
+           "ORDER BY s.id")
+    List<Session> findListPage(@Param("program") String program, @Param("groupId") Long groupId,
+                               @Param("teacherId") Long teacherId, @Param("roomId") Long roomId,
+                               @Param("day") String day, @Param("afterId") long afterId, Pageable limit);
+
+    @Query("SELECT new com.uniflow.dto.SessionListStats(COUNT(s), COUNT(DISTINCT s.teacher.id), " +
+           "COUNT(DISTINCT s.group.id), COUNT(DISTINCT s.room.id)) FROM Session s")
+    SessionListStats computeListStats();
+
+    @Query("SELECT new com.uniflow.dto.DayLoad(t.dayOfWeek, COUNT(s), SUM(r.capacity), " +
+           "SUM((SELECT COUNT(st) FROM Student st WHERE st.group = s.group))) " +
+           "FROM Session s JOIN s.timeslot t JOIN s.room r GROUP BY t.dayOfWeek")
+    List<DayLoad> computeDayLoads();
+    
+    @Query("SELECT DISTINCT s FROM Session s " +
+           "LEFT JOIN FETCH s.module " +
+           "LEFT JOIN FETCH s.teacher " +
+           "LEFT JOIN FETCH s.group " +
+           "LEFT JOIN FETCH s.room " +
+           "LEFT JOIN FETCH s.timeslot t " +
+           "WHERE t.id = :timeslotId")
+    List<Session> findByTimeslotIdWithRelations(@Param("timeslotId") Long timeslotId);
+    
+    @Query("SELECT new com.uniflow.dto.SessionSlot(s.id, s.module.id, s.teacher.id, s.group.id, s.room.id, s.timeslot.id) " +
+           "FROM Session s")
+    List<SessionSlot> findAllSlots();
+
+    @Query("SELECT new com.uniflow.dto.SessionSlot(s.id, s.module.id, s.teacher.id, s.group.id, s.room.id, s.timeslot.id) " +
+           "FROM Session s WHERE s.module.id = :moduleId")
+    List<SessionSlot> findSlotsByModuleId(@Param("moduleId") Long moduleId);
+
+    @Query("SELECT new com.uniflow.dto.SessionSlot(s.id, s.module.id, s.teacher.id, s.group.id, s.room.id, s.timeslot.id) " +
+           "FROM Session s WHERE s.group.id = :groupId")
+    List<SessionSlot> findSlotsByGroupId(@Param("groupId") Long groupId);
+
+    @Query("SELECT new com.uniflow.dto.SessionSlot(s.id, s.module.id, s.teacher.id, s.group.id, s.room.id, s.timeslot.id) " +
+           "FROM Session s WHERE s.room.id = :roomId")
+    List<SessionSlot> findSlotsByRoomId(@Param("roomId") Long roomId);
+
+    @Query("SELECT new com.uniflow.dto.SessionSlot(s.id, s.module.id, s.teacher.id, s.group.id, s.room.id, s.timeslot.id) " +
+           "FROM Session s WHERE s.timeslot.id = :timeslotId")
+    List<SessionSlot> findSlotsByTimeslotId(@Param("timeslotId") Long timeslotId);
+    
+    /**
+     * Diffère jusqu'au commit la vérification des contraintes d'unicité des sessions
+     * (voir db/sessions_deferrable_constraints.sql).
+     * Synchronisée sur la seule table sessions : sans cela, Hibernate viderait tout le cache de second niveau.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "sessions"))
+    @Query(value = "SET CONSTRAINTS uq_session_room_timeslot, uq_session_teacher_timeslot, uq_session_group_timeslot DEFERRED",
+           nativeQuery = true)
+    void deferTimetableConstraints();
 }
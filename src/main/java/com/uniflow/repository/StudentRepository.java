@@ -1,11 +1,16 @@
 package com.uniflow.repository;
 
+import com.uniflow.dto.StudentGroupLink;
+import com.uniflow.dto.PersonSummary;
+import com.uniflow.dto.StudentListItem;
 import com.uniflow.model.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +22,28 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     @Query("SELECT s FROM Student s JOIN FETCH s.user u WHERE u.email = :email")
     Optional<Student> findByEmail(@Param("email") String email);
     
-    @Query("SELECT s FROM Student s JOIN FETCH s.user u WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Student> searchStudents(@Param("query") String query);
+    @Query("SELECT new com.uniflow.dto.PersonSummary(s.id, u.role, s.firstName, s.lastName, u.email) " +
+           "FROM Student s JOIN s.user u")
+    List<PersonSummary> findAllSummaries();
+
+    @Query("SELECT new com.uniflow.dto.PersonSummary(s.id, u.role, s.firstName, s.lastName, u.email) " +
+           "FROM Student s JOIN s.user u WHERE s.id IN :ids")
+    List<PersonSummary> findSummaries(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.uniflow.dto.StudentGroupLink(s.id, s.group.id) FROM Student s WHERE s.group IS NOT NULL")
+    List<StudentGroupLink> findAllGroupLinks();
+
+    @Query("SELECT new com.uniflow.dto.StudentGroupLink(s.id, s.group.id) FROM Student s WHERE s.group.id = :groupId")
+    List<StudentGroupLink> findGroupLinksByGroupId(@Param("groupId") Long groupId);
+
+    @Query("SELECT new com.uniflow.dto.StudentListItem(s.id, s.firstName, s.lastName, u.email, s.program, s.level, g.name) " +
+           "FROM Student s JOIN s.user u LEFT JOIN s.group g " +
+           "WHERE s.id > :afterId " +
+           "AND (:program IS NULL OR s.program = :program) " +
+           "AND (:level IS NULL OR s.level = :level) " +
+           "AND (:groupId IS NULL OR g.id = :groupId) " +
+           "ORDER BY s.id")
+    List<StudentListItem> findListItems(@Param("program") String program, @Param("level") String level,
+                                        @Param("groupId") Long groupId, @Param("afterId") long afterId,
+                                        Pageable limit);
 }
@@ -0,0 +1,120 @@
+package com.uniflow.repository;
+
+import com.uniflow.model.Session;
+import com.uniflow.model.StudentTimetableEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Emploi du temps matérialisé. Un étudiant suit les sessions de son groupe, et celles des modules
+ * auxquels il est inscrit sans que le module soit enseigné à son groupe (module_groups) : options
+ * suivies avec un autre groupe.
+ * Les mises à jour ajoutent les lignes manquantes puis retirent celles qui ne vérifient plus
+ * cette règle, sur l'état validé de la base : rejouées dans n'importe quel ordre, elles convergent.
+ * Les requêtes natives sont synchronisées sur la seule table student_timetable : sans cela,
+ * Hibernate viderait tout le cache de second niveau.
+ */
+@Repository
+public interface StudentTimetableRepository extends JpaRepository<StudentTimetableEntry, StudentTimetableEntry.Key> {
+
+    // Session s hors du groupe de l'étudiant st, suivie au titre d'une inscription
+    String ELECTIVE = "EXISTS (SELECT 1 FROM enrollments e WHERE e.student_id = st.id AND e.module_id = s.module_id) " +
+                      "AND NOT EXISTS (SELECT 1 FROM module_groups mg WHERE mg.module_id = s.module_id AND mg.group_id = st.group_id)";
+
+    String STALE = "NOT EXISTS (SELECT 1 FROM sessions s JOIN students st ON st.id = tt.student_id " +
+                   "WHERE s.id = tt.session_id AND (s.group_id = st.group_id OR (" + ELECTIVE + ")))";
+
+    @Query("SELECT s FROM StudentTimetableEntry e " +
+           "JOIN e.session s " +
+           "JOIN FETCH s.module " +
+           "JOIN FETCH s.teacher " +
+           "JOIN FETCH s.group " +
+           "JOIN FETCH s.room " +
+           "JOIN FETCH s.timeslot t " +
+           "WHERE e.student.id = :studentId " +
+           "ORDER BY t.dayOfWeek, t.startTime")
+    List<Session> findSessionsByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_timetable"))
+    @Query(value = "INSERT INTO student_timetable (student_id, session_id) " +
+                   "SELECT st.id, s.id FROM sessions s JOIN students st ON st.group_id = s.group_id " +
+                   "WHERE s.id IN (:sessionIds) " +
+                   "UNION " +
+                   "SELECT st.id, s.id FROM sessions s JOIN enrollments en ON en.module_id = s.module_id " +
+                   "JOIN students st ON st.id = en.student_id " +
+                   "WHERE s.id IN (:sessionIds) AND " + ELECTIVE + " " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int addSessionEntries(@Param("sessionIds") Collection<Long> sessionIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_timetable"))
+    @Query(value = "DELETE FROM student_timetable tt WHERE tt.session_id IN (:sessionIds) AND " + STALE,
+           nativeQuery = true)
+    int removeStaleSessionEntries(@Param("sessionIds") Collection<Long> sessionIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_timetable"))
+    @Query(value = "INSERT INTO student_timetable (student_id, session_id) " +
+                   "SELECT st.id, s.id FROM students st JOIN sessions s ON s.group_id = st.group_id " +
+                   "WHERE st.id IN (:studentIds) " +
+                   "UNION " +
+                   "SELECT st.id, s.id FROM students st JOIN enrollments en ON en.student_id = st.id " +
+                   "JOIN sessions s ON s.module_id = en.module_id " +
+                   "WHERE st.id IN (:studentIds) AND " + ELECTIVE + " " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int addStudentEntries(@Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_timetable"))
+    @Query(value = "DELETE FROM student_timetable tt WHERE tt.student_id IN (:studentIds) AND " + STALE,
+           nativeQuery = true)
+    int removeStaleStudentEntries(@Param("studentIds") Collection<Long> studentIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_timetable"))
+    @Query(value = "INSERT INTO student_timetable (student_id, session_id) " +
+                   "SELECT st.id, s.id FROM sessions s JOIN enrollments en ON en.module_id = s.module_id " +
+                   "JOIN students st ON st.id = en.student_id " +
+                   "WHERE s.module_id IN (:moduleIds) AND " + ELECTIVE + " " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int addModuleEntries(@Param("moduleIds") Collection<Long> moduleIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_timetable"))
+    @Query(value = "DELETE FROM student_timetable tt " +
+                   "WHERE tt.session_id IN (SELECT s.id FROM sessions s WHERE s.module_id IN (:moduleIds)) AND " + STALE,
+           nativeQuery = true)
+    int removeStaleModuleEntries(@Param("moduleIds") Collection<Long> moduleIds);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM student_timetable)", nativeQuery = true)
+    boolean hasEntries();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_timetable"))
+    @Query(value = "DELETE FROM student_timetable", nativeQuery = true)
+    int deleteAllEntries();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_timetable"))
+    @Query(value = "INSERT INTO student_timetable (student_id, session_id) " +
+                   "SELECT st.id, s.id FROM students st JOIN sessions s ON s.group_id = st.group_id " +
+                   "UNION " +
+                   "SELECT st.id, s.id FROM students st JOIN enrollments en ON en.student_id = st.id " +
+                   "JOIN sessions s ON s.module_id = en.module_id " +
+                   "WHERE NOT EXISTS (SELECT 1 FROM module_groups mg WHERE mg.module_id = s.module_id AND mg.group_id = st.group_id)",
+           nativeQuery = true)
+    int insertAllEntries();
+}
@@ -1,21 +1,46 @@
 package com.uniflow.repository;
 
+import com.uniflow.dto.PersonSummary;
+import com.uniflow.dto.TeacherListItem;
 import com.uniflow.model.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Teacher> findAll();
+
     List<Teacher> findBySpecialty(String specialty);
     
     @Query("SELECT t FROM Teacher t JOIN FETCH t.user u WHERE u.email = :email")
     Optional<Teacher> findByEmail(@Param("email") String email);
     
-    @Query("SELECT t FROM Teacher t JOIN FETCH t.user u WHERE LOWER(t.firstName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(t.lastName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :query, '%'))")
-    List<Teacher> searchTeachers(@Param("query") String query);
+    @Query("SELECT new com.uniflow.dto.PersonSummary(t.id, u.role, t.firstName, t.lastName, u.email) " +
+           "FROM Teacher t JOIN t.user u")
+    List<PersonSummary> findAllSummaries();
+
+    @Query("SELECT new com.uniflow.dto.PersonSummary(t.id, u.role, t.firstName, t.lastName, u.email) " +
+           "FROM Teacher t JOIN t.user u WHERE t.id IN :ids")
+    List<PersonSummary> findSummaries(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.uniflow.dto.TeacherListItem(t.id, t.firstName, t.lastName, u.email, t.grade, t.specialty, t.workloadHours) " +
+           "FROM Teacher t JOIN t.user u " +
+           "WHERE t.id > :afterId " +
+           "AND (:specialty IS NULL OR t.specialty = :specialty) " +
+           "ORDER BY t.id")
+    List<TeacherListItem> findListItems(@Param("specialty") String specialty, @Param("afterId") long afterId,
+                                        Pageable limit);
 }
@@ -1,7 +1,10 @@
 package com.uniflow.repository;
 
 import com.uniflow.model.Timeslot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalTime;
@@ -12,5 +15,7 @@ import java.util.Optional;
 public interface TimeslotRepository extends JpaRepository<Timeslot, Long> {
     List<Timeslot> findByDayOfWeekOrderByStartTime(String dayOfWeek);
     Optional<Timeslot> findByDayOfWeekAndStartTimeAndEndTime(String dayOfWeek, LocalTime startTime, LocalTime endTime);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Timeslot> findAllByOrderByDayOfWeekAscStartTimeAsc();
 }
@@ -0,0 +1,348 @@
+package com.uniflow.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.uniflow.dto.ImportResult;
+import com.uniflow.dto.StudentGroupLink;
+import com.uniflow.event.PeopleChangedEvent;
+import com.uniflow.event.StudentsImportedEvent;
+import com.uniflow.model.Group;
+import com.uniflow.model.Student;
+import com.uniflow.model.Teacher;
+import com.uniflow.model.User;
+import com.uniflow.model.enums.RoleEnum;
+import com.uniflow.repository.GroupRepository;
+import com.uniflow.repository.StudentRepository;
+import com.uniflow.repository.TeacherRepository;
+import com.uniflow.repository.UserRepository;
+import com.uniflow.service.ImportRowReader.ImportRow;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Import en masse d'étudiants et d'enseignants depuis un fichier CSV ou JSON.
+ * Le fichier est lu en flux ; chaque ligne est validée en mémoire (contraintes des entités,
+ * emails déjà pris chargés une fois pour toutes), son mot de passe haché sur un pool borné,
+ * puis les comptes sont enregistrés par tranches, une transaction et des INSERT groupés par tranche.
+ * Une ligne invalide est rejetée et signalée sans interrompre le reste du fichier.
+ */
+@Service
+@Slf4j
+public class AccountImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 200;
+
+    private final UserRepository userRepository;
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final GroupRepository groupRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService hashPool;
+    private final int chunkSize;
+
+    public AccountImportService(UserRepository userRepository,
+                                StudentRepository studentRepository,
+                                TeacherRepository teacherRepository,
+                                GroupRepository groupRepository,
+                                PasswordEncoder passwordEncoder,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                @Value("${uniflow.import.hash-threads:0}") int hashThreads,
+                                @Value("${uniflow.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.groupRepository = groupRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.hashPool = Executors.newFixedThreadPool(hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Colonnes : email, password, firstName, lastName, program, level, skills, groupId
+     */
+    public ImportResult importStudents(InputStream in, String filename) throws IOException {
+        Map<Long, Group> groups = groupRepository.findAll().stream()
+            .collect(Collectors.toMap(Group::getId, Function.identity()));
+        return importAccounts(in, filename, RoleEnum.STUDENT, row -> studentOf(row, groups), Student::setUser,
+            studentRepository, this::publishImportedStudents);
+    }
+
+    /**
+     * Colonnes : email, password, firstName, lastName, grade, specialty, skills, workloadHours
+     */
+    public ImportResult importTeachers(InputStream in, String filename) throws IOException {
+        return importAccounts(in, filename, RoleEnum.TEACHER, this::teacherOf, Teacher::setUser,
+            teacherRepository, saved -> { });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdown();
+    }
+
+    // ========================================
+    // PIPELINE
+    // ========================================
+
+    /**
+     * Ligne validée, en attente d'enregistrement ; le profil est reconstruit à chaque tentative
+     */
+    private record PendingAccount(ImportRow row, String email, Future<String> passwordHash) {
+    }
+
+    private record HashedAccount(ImportRow row, String email, String passwordHash) {
+    }
+
+    private <P> ImportResult importAccounts(InputStream in, String filename, RoleEnum role,
+                                            Function<ImportRow, P> profileOf, BiConsumer<P, User> attach,
+                                            JpaRepository<P, Long> repository, Consumer<List<P>> afterSave)
+            throws IOException {
+        // Comparaison insensible à la casse, comme la colonne citext
+        Set<String> takenEmails = userRepository.findAllEmails().stream()
+            .map(email -> email.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toCollection(HashSet::new));
+        Report report = new Report();
+
+        try (ImportRowReader reader = ImportRowReader.open(in, filename, objectMapper)) {
+            List<PendingAccount> chunk = new ArrayList<>(chunkSize);
+            while (true) {
+                ImportRow row;
+                try {
+                    row = reader.next();
+                } catch (IOException e) {
+                    report.abort("Lecture interrompue après " + report.read + " ligne(s) : " + e.getMessage());
+                    break;
+                }
+                if (row == null) {
+                    break;
+                }
+                report.read++;
+
+                PendingAccount pending = prepare(row, profileOf, takenEmails, report);
+                if (pending != null) {
+                    chunk.add(pending);
+                }
+                if (chunk.size() == chunkSize) {
+                    write(chunk, role, profileOf, attach, repository, afterSave, report);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            write(chunk, role, profileOf, attach, repository, afterSave, report);
+        }
+
+        log.info("{} import: {} row(s) read, {} imported, {} rejected", role, report.read, report.imported, report.rejected);
+        return new ImportResult(report.imported, report.rejected, List.copyOf(report.errors));
+    }
+
+    /**
+     * Valide une ligne et lance le hachage de son mot de passe ; null si la ligne est rejetée
+     */
+    private <P> PendingAccount prepare(ImportRow row, Function<ImportRow, P> profileOf,
+                                       Set<String> takenEmails, Report report) {
+        if (row.error() != null) {
+            report.reject(row, row.error());
+            return null;
+        }
+
+        List<String> messages = new ArrayList<>();
+        String email = row.get("email");
+        String password = row.get("password");
+        if (email == null) {
+            messages.add("Email manquant.");
+        } else {
+            validator.validateValue(User.class, "email", email).stream()
+                .map(ConstraintViolation::getMessage)
+                .forEach(messages::add);
+        }
+        if (password == null) {
+            messages.add("Mot de passe manquant.");
+        }
+        try {
+            validator.validate(profileOf.apply(row)).stream()
+                .map(violation -> violation.getMessage() + ".")
+                .forEach(messages::add);
+        } catch (IllegalArgumentException e) {
+            messages.add(e.getMessage());
+        }
+        if (messages.isEmpty() && !takenEmails.add(email.toLowerCase(Locale.ROOT))) {
+            messages.add("Email déjà utilisé : " + email);
+        }
+
+        if (!messages.isEmpty()) {
+            report.reject(row, String.join(" ", messages));
+            return null;
+        }
+        return new PendingAccount(row, email, hashPool.submit(() -> passwordEncoder.encode(password)));
+    }
+
+    private <P> void write(List<PendingAccount> chunk, RoleEnum role,
+                           Function<ImportRow, P> profileOf, BiConsumer<P, User> attach,
+                           JpaRepository<P, Long> repository, Consumer<List<P>> afterSave, Report report) {
+        List<HashedAccount> ready = new ArrayList<>(chunk.size());
+        for (PendingAccount pending : chunk) {
+            try {
+                ready.add(new HashedAccount(pending.row(), pending.email(), pending.passwordHash().get()));
+            } catch (ExecutionException e) {
+                report.reject(pending.row(), "Mot de passe non haché : " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+            }
+        }
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        try {
+            save(ready, role, profileOf, attach, repository, afterSave);
+            report.imported += ready.size();
+        } catch (DataAccessException e) {
+            // Un compte créé entre-temps fait échouer toute la tranche : chaque ligne est rejouée seule
+            log.debug("Import chunk rejected, retrying row by row: {}", e.getMessage());
+            for (HashedAccount account : ready) {
+                try {
+                    save(List.of(account), role, profileOf, attach, repository, afterSave);
+                    report.imported++;
+                } catch (DataAccessException rowFailure) {
+                    report.reject(account.row(), Objects.requireNonNull(
+                        NestedExceptionUtils.getMostSpecificCause(rowFailure)).getMessage());
+                }
+            }
+        }
+    }
+
+    private <P> void save(List<HashedAccount> accounts, RoleEnum role,
+                          Function<ImportRow, P> profileOf, BiConsumer<P, User> attach,
+                          JpaRepository<P, Long> repository, Consumer<List<P>> afterSave) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<User> users = new ArrayList<>(accounts.size());
+            List<P> profiles = new ArrayList<>(accounts.size());
+            for (HashedAccount account : accounts) {
+                User user = User.builder()
+                    .email(account.email())
+                    .passwordHash(account.passwordHash())
+                    .role(role)
+                    .enabled(true)
+                    .build();
+                P profile = profileOf.apply(account.row());
+                attach.accept(profile, user);
+                users.add(user);
+                profiles.add(profile);
+            }
+            userRepository.saveAll(users);
+            afterSave.accept(repository.saveAll(profiles));
+            eventPublisher.publishEvent(new PeopleChangedEvent(users.stream().map(User::getId).toList()));
+        });
+    }
+
+    // ========================================
+    // PROFILS
+    // ========================================
+
+    private Student studentOf(ImportRow row, Map<Long, Group> groups) {
+        Group group = null;
+        String groupId = row.get("groupId");
+        if (groupId != null) {
+            group = groups.get(parse(groupId, Long::valueOf, "Identifiant de groupe invalide : "));
+            if (group == null) {
+                throw new IllegalArgumentException("Groupe introuvable : " + groupId);
+            }
+        }
+        return Student.builder()
+            .firstName(row.get("firstName"))
+            .lastName(row.get("lastName"))
+            .program(row.get("program"))
+            .level(row.get("level"))
+            .skills(row.get("skills"))
+            .group(group)
+            .build();
+    }
+
+    private Teacher teacherOf(ImportRow row) {
+        String workloadHours = row.get("workloadHours");
+        return Teacher.builder()
+            .firstName(row.get("firstName"))
+            .lastName(row.get("lastName"))
+            .grade(row.get("grade"))
+            .specialty(row.get("specialty"))
+            .skills(row.get("skills"))
+            .workloadHours(workloadHours != null
+                ? parse(workloadHours, Integer::valueOf, "Charge horaire invalide : ")
+                : 0)
+            .build();
+    }
+
+    private void publishImportedStudents(List<Student> students) {
+        List<StudentGroupLink> links = students.stream()
+            .filter(student -> student.getGroup() != null)
+            .map(student -> new StudentGroupLink(student.getId(), student.getGroup().getId()))
+            .toList();
+        if (!links.isEmpty()) {
+            eventPublisher.publishEvent(new StudentsImportedEvent(links));
+        }
+    }
+
+    private static <N extends Number> N parse(String value, Function<String, N> parser, String message) {
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(message + value);
+        }
+    }
+
+    private static final class Report {
+        private final List<String> errors = new ArrayList<>();
+        private int read;
+        private int imported;
+        private int rejected;
+
+        void reject(ImportRow row, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(row.position() + " : " + message);
+            }
+        }
+
+        void abort(String message) {
+            errors.add(message);
+        }
+    }
+}
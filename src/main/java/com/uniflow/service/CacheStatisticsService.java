@@ -0,0 +1,39 @@
+package com.uniflow.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.uniflow.dto.CacheRegionStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Lecture des compteurs Caffeine des régions du cache de second niveau (voir caffeine.conf)
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsService {
+
+    private final CacheManager hibernateCacheManager;
+
+    public List<CacheRegionStats> getRegionStats() {
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String name : hibernateCacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = hibernateCacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine =
+                cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+            CacheStats stats = caffeine.stats();
+            regions.add(new CacheRegionStats(name, caffeine.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.evictionCount()));
+        }
+        regions.sort(Comparator.comparing(CacheRegionStats::region));
+        return regions;
+    }
+}
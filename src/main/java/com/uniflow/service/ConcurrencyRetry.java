@@ -0,0 +1,65 @@
+package com.uniflow.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Rejoue une opération de planification dans une nouvelle transaction lorsqu'elle échoue
+ * pour une raison transitoire (version périmée, attente de verrou trop longue).
+ * Chaque tentative relit et revalide l'état courant.
+ */
+@Component
+@Slf4j
+public class ConcurrencyRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    public ConcurrencyRetry(TransactionTemplate transactionTemplate,
+                            @Value("${uniflow.scheduling.max-attempts:3}") int maxAttempts) {
+        this.transactionTemplate = transactionTemplate;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        // Dans une transaction englobante, seul l'appelant peut rejouer l'ensemble
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Concurrent scheduling conflict, retrying (attempt {}/{}): {}", attempt + 1, maxAttempts, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    public void run(Runnable action) {
+        execute(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private static void backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(10, 50) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying a scheduling operation", e);
+        }
+    }
+}
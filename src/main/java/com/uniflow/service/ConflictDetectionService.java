@@ -1,8 +1,7 @@
 package com.uniflow.service;
 
-import com.uniflow.model.Enrollment;
+import com.uniflow.dto.ModuleTimeslot;
 import com.uniflow.model.Session;
-import com.uniflow.model.Student;
 import com.uniflow.repository.EnrollmentRepository;
 import com.uniflow.repository.SessionRepository;
 import com.uniflow.repository.StudentRepository;
@@ -10,7 +9,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -25,53 +27,24 @@ public class ConflictDetectionService {
     private final SessionRepository sessionRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final StudentRepository studentRepository;
+    private final ScheduleOccupancyIndex occupancyIndex;
+    private final ConflictReportEngine conflictReportEngine;
 
     /**
      * Vérifie si les étudiants d'un groupe ont des conflits de créneaux
      */
     public void validateStudentScheduleConflicts(Long groupId, Long timeslotId) {
-        // Récupérer toutes les sessions existantes pour ce créneau
-        List<Session> existingSessions = sessionRepository.findByTimeslotId(timeslotId);
+        // Étudiants du groupe inscrits à un module déjà programmé à ce créneau (lecture en mémoire)
+        List<Long> conflictingStudentIds = occupancyIndex.findConflictingStudents(groupId, timeslotId, null);
         
-        if (existingSessions.isEmpty()) {
-            return;
-        }
-
-        // Récupérer les étudiants du groupe cible
-        List<Student> groupStudents = studentRepository.findByGroupId(groupId);
-        
-        for (Session existingSession : existingSessions) {
-            if (existingSession.getGroup().getId().equals(groupId)) {
-                // Même groupe - pas de conflit
-                continue;
-            }
-
-            // Vérifier si des étudiants du groupe sont aussi dans le module de la session existante
-            List<Long> conflictingStudentIds = findConflictingStudents(groupStudents, existingSession.getModule().getId());
-            
-            if (!conflictingStudentIds.isEmpty()) {
-                String conflictingStudentNames = getStudentNames(conflictingStudentIds);
-                throw new IllegalArgumentException(
-                    String.format("Conflit de planification détecté : Les étudiants suivants ont déjà un cours à ce créneau : %s", 
-                        conflictingStudentNames));
-            }
+        if (!conflictingStudentIds.isEmpty()) {
+            String conflictingStudentNames = getStudentNames(conflictingStudentIds);
+            throw new IllegalArgumentException(
+                String.format("Conflit de planification détecté : Les étudiants suivants ont déjà un cours à ce créneau : %s", 
+                    conflictingStudentNames));
         }
     }
 
-    /**
-     * Trouve les étudiants d'un groupe qui sont inscrits à un module donné
-     */
-    private List<Long> findConflictingStudents(List<Student> groupStudents, Long moduleId) {
-        Set<Long> groupStudentIds = groupStudents.stream()
-            .map(Student::getId)
-            .collect(Collectors.toSet());
-
-        return enrollmentRepository.findByModuleId(moduleId).stream()
-            .map(enrollment -> enrollment.getStudent().getId())
-            .filter(groupStudentIds::contains)
-            .toList();
-    }
-
     /**
      * Récupère les noms complets des étudiants
      */
@@ -82,97 +55,44 @@ public class ConflictDetectionService {
     }
 
     /**
-     * Vérifie si un étudiant a un conflit de créneau lors de l'inscription à un nouveau module
+     * Vérifie si un étudiant a un conflit de créneau lors de l'inscription à un nouveau module.
+     * Tous les conflits sont signalés en une fois.
      */
     public void validateStudentEnrollmentConflicts(Long studentId, Long moduleId) {
-        // Récupérer toutes les sessions du module cible
-        List<Session> moduleSessions = sessionRepository.findByModuleId(moduleId);
-        
-        // Récupérer toutes les inscriptions actuelles de l'étudiant
-        List<Enrollment> studentEnrollments = enrollmentRepository.findByStudentId(studentId);
-        
-        for (Session moduleSession : moduleSessions) {
-            for (Enrollment enrollment : studentEnrollments) {
-                // Récupérer les sessions du module où l'étudiant est déjà inscrit
-                List<Session> enrolledModuleSessions = sessionRepository.findByModuleId(enrollment.getModule().getId());
-                
-                for (Session enrolledSession : enrolledModuleSessions) {
-                    if (enrolledSession.getTimeslot().getId().equals(moduleSession.getTimeslot().getId())) {
-                        String studentName = studentRepository.findById(studentId)
-                            .map(s -> s.getFirstName() + " " + s.getLastName())
-                            .orElse("Étudiant ID: " + studentId);
-                        
-                        throw new IllegalArgumentException(
-                            String.format("Conflit de planning : L'étudiant %s a déjà un cours de %s à ce créneau (%s).",
-                                studentName, 
-                                enrollment.getModule().getName(),
-                                enrolledSession.getTimeslot().getDayOfWeek() + " " + enrolledSession.getTimeslot().getStartTime()));
-                    }
-                }
-            }
+        // Créneaux du module cible
+        Set<Long> moduleTimeslotIds = new HashSet<>(sessionRepository.findTimeslotIdsByModuleId(moduleId));
+        if (moduleTimeslotIds.isEmpty()) {
+            return;
         }
-    }
 
-    /**
-     * Génère un rapport des conflits potentiels dans tout le système
-     */
-    public ConflictReport generateConflictReport() {
-        ConflictReport report = new ConflictReport();
-        
-        // Analyser tous les créneaux
-        List<Session> allSessions = sessionRepository.findAll();
-        
-        // Grouper par timeslot pour détecter les conflits
-        var sessionsByTimeslot = allSessions.stream()
-            .collect(Collectors.groupingBy(session -> session.getTimeslot().getId()));
-        
-        sessionsByTimeslot.forEach((timeslotId, sessions) -> {
-            if (sessions.size() > 1) {
-                // Analyser les conflits dans ce créneau
-                analyzeTimeslotConflicts(sessions, report);
-            }
-        });
-        
-        return report;
-    }
+        // Créneaux déjà occupés par les modules de l'étudiant (une seule requête), intersectés en mémoire
+        List<ModuleTimeslot> clashes = sessionRepository.findTimeslotsOfStudentModules(studentId, moduleId).stream()
+            .filter(occupied -> moduleTimeslotIds.contains(occupied.timeslotId()))
+            .toList();
 
-    private void analyzeTimeslotConflicts(List<Session> sessions, ConflictReport report) {
-        for (int i = 0; i < sessions.size(); i++) {
-            for (int j = i + 1; j < sessions.size(); j++) {
-                Session session1 = sessions.get(i);
-                Session session2 = sessions.get(j);
-                
-                // Conflit de salle
-                if (session1.getRoom().getId().equals(session2.getRoom().getId())) {
-                    report.addRoomConflict(session1, session2);
-                }
-                
-                // Conflit d'enseignant
-                if (session1.getTeacher().getId().equals(session2.getTeacher().getId())) {
-                    report.addTeacherConflict(session1, session2);
-                }
-                
-                // Analyser les conflits d'étudiants entre groupes
-                analyzeStudentConflictsBetweenSessions(session1, session2, report);
-            }
+        if (!clashes.isEmpty()) {
+            String studentName = studentRepository.findById(studentId)
+                .map(s -> s.getFirstName() + " " + s.getLastName())
+                .orElse("Étudiant ID: " + studentId);
+            String details = clashes.stream()
+                .map(clash -> String.format("%s (%s %s)", clash.moduleName(), clash.dayOfWeek(), clash.startTime()))
+                .collect(Collectors.joining(", "));
+
+            throw new IllegalArgumentException(
+                String.format("Conflit de planning : L'étudiant %s a déjà cours à ces créneaux : %s.",
+                    studentName, details));
         }
     }
 
-    private void analyzeStudentConflictsBetweenSessions(Session session1, Session session2, ConflictReport report) {
-        // Récupérer les étudiants inscrits aux modules des deux sessions
-        List<Long> students1 = enrollmentRepository.findByModuleId(session1.getModule().getId())
-            .stream().map(e -> e.getStudent().getId()).toList();
-        List<Long> students2 = enrollmentRepository.findByModuleId(session2.getModule().getId())
-            .stream().map(e -> e.getStudent().getId()).toList();
-        
-        // Trouver les étudiants en commun
-        List<Long> commonStudents = students1.stream()
-            .filter(students2::contains)
-            .toList();
+    /**
+     * Génère un rapport des conflits potentiels dans tout le système.
+     * Deux requêtes seulement : les sessions avec leurs relations, puis la relation d'inscription.
+     */
+    public ConflictReport generateConflictReport() {
+        List<Session> allSessions = sessionRepository.findAllWithRelations();
+        Map<Long, BitSet> studentsByModule = ConflictReportEngine.indexEnrollments(enrollmentRepository.findAllLinks());
         
-        if (!commonStudents.isEmpty()) {
-            report.addStudentConflict(session1, session2, commonStudents);
-        }
+        return conflictReportEngine.analyze(allSessions, studentsByModule);
     }
 
     /**
@@ -199,15 +119,26 @@ public class ConflictDetectionService {
         }
 
         public void addStudentConflict(Session session1, Session session2, List<Long> commonStudents) {
+            addStudentConflict(session1, session2, commonStudents.size());
+        }
+
+        public void addStudentConflict(Session session1, Session session2, int affectedStudents) {
             studentConflicts.add(String.format("Conflit d'étudiants (%d étudiants affectés) : %s vs %s", 
-                commonStudents.size(),
+                affectedStudents,
                 session1.getModule().getName(), 
                 session2.getModule().getName()));
         }
 
-        public List<String> getRoomConflicts() { return roomConflicts; }
-        public List<String> getTeacherConflicts() { return teacherConflicts; }
-        public List<String> getStudentConflicts() { return studentConflicts; }
+        public void merge(ConflictReport other) {
+            roomConflicts.addAll(other.roomConflicts);
+            teacherConflicts.addAll(other.teacherConflicts);
+            studentConflicts.addAll(other.studentConflicts);
+        }
+
+        // Lecture seule : un rapport peut être partagé entre les requêtes (ConflictStateView)
+        public List<String> getRoomConflicts() { return java.util.Collections.unmodifiableList(roomConflicts); }
+        public List<String> getTeacherConflicts() { return java.util.Collections.unmodifiableList(teacherConflicts); }
+        public List<String> getStudentConflicts() { return java.util.Collections.unmodifiableList(studentConflicts); }
         
         public boolean hasConflicts() {
             return !roomConflicts.isEmpty() || !teacherConflicts.isEmpty() || !studentConflicts.isEmpty();
@@ -0,0 +1,109 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.EnrollmentLink;
+import com.uniflow.model.Session;
+import com.uniflow.service.ConflictDetectionService.ConflictReport;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Moteur d'analyse des conflits en une seule passe.
+ * Les inscriptions sont chargées une fois sous forme de bitsets (module → étudiants),
+ * puis chaque créneau est analysé indépendamment sur un pool fork/join.
+ */
+@Component
+public class ConflictReportEngine {
+
+    private final ForkJoinPool pool;
+
+    public ConflictReportEngine(@Value("${uniflow.conflict-report.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construit l'index module → étudiants inscrits à partir de la relation d'inscription
+     */
+    public static Map<Long, BitSet> indexEnrollments(Collection<EnrollmentLink> links) {
+        Map<Long, BitSet> studentsByModule = new HashMap<>();
+        for (EnrollmentLink link : links) {
+            studentsByModule.computeIfAbsent(link.moduleId(), id -> new BitSet())
+                .set(Math.toIntExact(link.studentId()));
+        }
+        return studentsByModule;
+    }
+
+    /**
+     * Analyse toutes les sessions ; les créneaux sont traités en parallèle puis fusionnés
+     * dans l'ordre des identifiants de créneau pour un rapport déterministe.
+     */
+    public ConflictReport analyze(List<Session> sessions, Map<Long, BitSet> studentsByModule) {
+        ConflictReport report = new ConflictReport();
+        analyzeByTimeslot(sessions, studentsByModule).values().forEach(report::merge);
+        return report;
+    }
+
+    /**
+     * Rapport partiel par créneau, trié par identifiant de créneau
+     */
+    public Map<Long, ConflictReport> analyzeByTimeslot(List<Session> sessions, Map<Long, BitSet> studentsByModule) {
+        Map<Long, List<Session>> sessionsByTimeslot = sessions.stream()
+            .collect(Collectors.groupingBy(session -> session.getTimeslot().getId(), TreeMap::new, Collectors.toList()));
+
+        return pool.submit(() -> sessionsByTimeslot.entrySet().parallelStream()
+                .collect(Collectors.toMap(
+                    Map.Entry::getKey,
+                    entry -> analyzeTimeslot(entry.getValue(), studentsByModule),
+                    (a, b) -> a,
+                    TreeMap::new)))
+            .join();
+    }
+
+    /**
+     * Compare chaque paire de sessions d'un même créneau
+     */
+    public ConflictReport analyzeTimeslot(List<Session> sessions, Map<Long, BitSet> studentsByModule) {
+        ConflictReport report = new ConflictReport();
+        for (int i = 0; i < sessions.size(); i++) {
+            Session session1 = sessions.get(i);
+            BitSet students1 = studentsByModule.get(session1.getModule().getId());
+
+            for (int j = i + 1; j < sessions.size(); j++) {
+                Session session2 = sessions.get(j);
+
+                // Conflit de salle
+                if (session1.getRoom().getId().equals(session2.getRoom().getId())) {
+                    report.addRoomConflict(session1, session2);
+                }
+
+                // Conflit d'enseignant
+                if (session1.getTeacher().getId().equals(session2.getTeacher().getId())) {
+                    report.addTeacherConflict(session1, session2);
+                }
+
+                // Étudiants inscrits aux modules des deux sessions
+                BitSet students2 = studentsByModule.get(session2.getModule().getId());
+                if (students1 != null && students2 != null && students1.intersects(students2)) {
+                    BitSet common = (BitSet) students1.clone();
+                    common.and(students2);
+                    report.addStudentConflict(session1, session2, common.cardinality());
+                }
+            }
+        }
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,129 @@
+package com.uniflow.service;
+
+import com.uniflow.event.EnrollmentChangedEvent;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.event.StudentChangedEvent;
+import com.uniflow.model.Session;
+import com.uniflow.repository.SessionRepository;
+import com.uniflow.service.ConflictDetectionService.ConflictReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Vue matérialisée des conflits de salle, d'enseignant et d'étudiants.
+ * Chaque modification de session ou d'inscription ne recalcule que les créneaux concernés ;
+ * la lecture du rapport consolidé est immédiate.
+ * Les suppressions en cascade (module, groupe, salle, créneau) arrivent comme des suppressions de sessions ;
+ * le départ d'étudiants invalide le rapport, recalculé une seule fois à la lecture suivante.
+ * Le rapport publié n'est jamais modifié : chaque mise à jour en publie un nouveau, en lecture seule.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConflictStateView {
+
+    private final SessionRepository sessionRepository;
+    private final ScheduleOccupancyIndex occupancyIndex;
+    private final ConflictReportEngine conflictReportEngine;
+
+    private final Map<Long, ConflictReport> reportsByTimeslot = new TreeMap<>();
+    private volatile ConflictReport report;
+
+    /**
+     * Rapport de conflits courant
+     */
+    @Transactional(readOnly = true)
+    public ConflictReport getReport() {
+        ConflictReport current = report;
+        if (current == null) {
+            synchronized (this) {
+                if (report == null) {
+                    rebuild();
+                }
+                current = report;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Recalcule l'ensemble des créneaux
+     */
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        List<Session> sessions = sessionRepository.findAllWithRelations();
+        Set<Long> moduleIds = sessions.stream().map(s -> s.getModule().getId()).collect(Collectors.toSet());
+
+        reportsByTimeslot.clear();
+        reportsByTimeslot.putAll(conflictReportEngine.analyzeByTimeslot(sessions, occupancyIndex.copyStudentsByModule(moduleIds)));
+        publishSnapshot();
+    }
+
+    // Les écouteurs passent après l'index d'occupation (ordre 0), dont ils lisent les inscriptions
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Order(1)
+    public void onSessionChanged(SessionChangedEvent event) {
+        Set<Long> timeslotIds = new HashSet<>();
+        if (event.before() != null) {
+            timeslotIds.add(event.before().timeslotId());
+        }
+        if (event.after() != null) {
+            timeslotIds.add(event.after().timeslotId());
+        }
+        refresh(timeslotIds);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Order(1)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        refresh(occupancyIndex.findTimeslotsOfModule(event.moduleId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(1)
+    public synchronized void onStudentChanged(StudentChangedEvent event) {
+        // Un changement de groupe n'influence pas le rapport, fondé sur les inscriptions.
+        // Les inscriptions d'un étudiant supprimé ne sont plus connues : tout est à recalculer, à la lecture
+        // suivante pour qu'une suppression de groupe n'entraîne qu'un seul calcul
+        if (event.removed()) {
+            report = null;
+        }
+    }
+
+    private synchronized void refresh(Set<Long> timeslotIds) {
+        if (report == null || timeslotIds.isEmpty()) {
+            return;
+        }
+
+        for (Long timeslotId : timeslotIds) {
+            List<Session> sessions = sessionRepository.findByTimeslotIdWithRelations(timeslotId);
+            if (sessions.size() < 2) {
+                reportsByTimeslot.remove(timeslotId);
+                continue;
+            }
+            Set<Long> moduleIds = sessions.stream().map(s -> s.getModule().getId()).collect(Collectors.toSet());
+            reportsByTimeslot.put(timeslotId,
+                conflictReportEngine.analyzeTimeslot(sessions, occupancyIndex.copyStudentsByModule(moduleIds)));
+        }
+        publishSnapshot();
+    }
+
+    private void publishSnapshot() {
+        ConflictReport snapshot = new ConflictReport();
+        reportsByTimeslot.values().forEach(snapshot::merge);
+        report = snapshot;
+    }
+}
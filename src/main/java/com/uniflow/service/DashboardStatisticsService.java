@@ -0,0 +1,197 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.DashboardStats;
+import com.uniflow.dto.DayLoad;
+import com.uniflow.dto.SessionListStats;
+import com.uniflow.event.EnrollmentChangedEvent;
+import com.uniflow.event.GradeChangedEvent;
+import com.uniflow.event.ModuleChangedEvent;
+import com.uniflow.event.PeopleChangedEvent;
+import com.uniflow.event.RoomChangedEvent;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.event.StudentChangedEvent;
+import com.uniflow.event.StudentsImportedEvent;
+import com.uniflow.repository.EnrollmentRepository;
+import com.uniflow.repository.GroupRepository;
+import com.uniflow.repository.ModuleRepository;
+import com.uniflow.repository.RoomRepository;
+import com.uniflow.repository.SessionRepository;
+import com.uniflow.repository.StudentRepository;
+import com.uniflow.repository.TeacherRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistiques du tableau de bord administrateur et totaux de la liste des sessions.
+ * Les totaux et agrégats sont calculés par quelques requêtes COUNT/SUM, jamais en chargeant les entités,
+ * puis servis depuis le cache pendant la durée de vie configurée.
+ * Les écritures qui publient un événement (sessions, inscriptions, étudiants, comptes, modules, salles, notes)
+ * invalident le cache dès leur commit ; les autres (création ou modification de groupe) sont visibles
+ * au plus tard à l'expiration.
+ */
+@Service
+public class DashboardStatisticsService {
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final GroupRepository groupRepository;
+    private final ModuleRepository moduleRepository;
+    private final RoomRepository roomRepository;
+    private final SessionRepository sessionRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long ttlNanos;
+
+    private final Object computeLock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Cached cached;
+
+    private record Cached(DashboardStats stats, SessionListStats sessionListStats, long generation, long expiresAt) {
+    }
+
+    public DashboardStatisticsService(StudentRepository studentRepository,
+                                      TeacherRepository teacherRepository,
+                                      GroupRepository groupRepository,
+                                      ModuleRepository moduleRepository,
+                                      RoomRepository roomRepository,
+                                      SessionRepository sessionRepository,
+                                      EnrollmentRepository enrollmentRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${uniflow.dashboard.stats-ttl:30s}") Duration ttl) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.groupRepository = groupRepository;
+        this.moduleRepository = moduleRepository;
+        this.roomRepository = roomRepository;
+        this.sessionRepository = sessionRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Statistiques en cache, recalculées si elles ont expiré ou été invalidées.
+     * Un seul recalcul à la fois : les requêtes concurrentes attendent son résultat.
+     */
+    public DashboardStats getStats() {
+        return current().stats();
+    }
+
+    /**
+     * Totaux de la liste des sessions (sessions, enseignants, groupes, salles), servis par le même cache
+     */
+    public SessionListStats getSessionListStats() {
+        return current().sessionListStats();
+    }
+
+    private Cached current() {
+        Cached current = cached;
+        if (isFresh(current)) {
+            return current;
+        }
+        synchronized (computeLock) {
+            current = cached;
+            if (isFresh(current)) {
+                return current;
+            }
+            long startGeneration = generation.get();
+            // Une invalidation pendant le calcul rend le résultat douteux : il est servi mais pas conservé
+            cached = readOnlyTransaction.execute(status -> compute(startGeneration));
+            return cached;
+        }
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    private boolean isFresh(Cached current) {
+        return current != null
+            && current.generation() == generation.get()
+            && System.nanoTime() - current.expiresAt() < 0;
+    }
+
+    private Cached compute(long startGeneration) {
+        List<DayLoad> days = sessionRepository.computeDayLoads().stream()
+            .sorted(Comparator.comparingInt(DashboardStatisticsService::dayOrder).thenComparing(DayLoad::day))
+            .toList();
+        DashboardStats stats = new DashboardStats(
+            studentRepository.count(),
+            teacherRepository.count(),
+            groupRepository.count(),
+            moduleRepository.count(),
+            roomRepository.count(),
+            days.stream().mapToLong(DayLoad::sessions).sum(),
+            enrollmentRepository.countUngraded(),
+            days,
+            LocalDateTime.now());
+        return new Cached(stats, sessionRepository.computeListStats(), startGeneration, System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * Jours dans l'ordre de la semaine ; un libellé inconnu est rangé à la fin
+     */
+    private static int dayOrder(DayLoad load) {
+        try {
+            return DayOfWeek.valueOf(load.day().trim().toUpperCase(Locale.ROOT)).ordinal();
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return DayOfWeek.values().length;
+        }
+    }
+
+    // ========================================
+    // Invalidation après commit
+    // ========================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionChanged(SessionChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentsImported(StudentsImportedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPeopleChanged(PeopleChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModuleChanged(ModuleChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeChanged(GradeChangedEvent event) {
+        invalidate();
+    }
+}
@@ -1,10 +1,14 @@
 package com.uniflow.service;
 
+import com.uniflow.dto.GradeScores;
+import com.uniflow.event.EnrollmentChangedEvent;
+import com.uniflow.event.GradeChangedEvent;
 import com.uniflow.model.Enrollment;
 import com.uniflow.repository.EnrollmentRepository;
 import com.uniflow.repository.ModuleRepository;
 import com.uniflow.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +23,7 @@ public class EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final StudentRepository studentRepository;
     private final ModuleRepository moduleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Enrollment createEnrollment(Long studentId, Long moduleId) {
         if (enrollmentRepository.existsByStudentIdAndModuleId(studentId, moduleId)) {
@@ -32,11 +37,21 @@ public class EnrollmentService {
                         .orElseThrow(() -> new IllegalArgumentException("Module not found: " + moduleId)))
                 .build();
 
-        return enrollmentRepository.save(enrollment);
+        Enrollment saved = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(studentId, moduleId, true));
+        return saved;
     }
 
     public void deleteEnrollment(Long id) {
-        enrollmentRepository.deleteById(id);
+        enrollmentRepository.findById(id).ifPresent(enrollment -> {
+            // La note part avec l'inscription (cascade)
+            if (enrollment.getGrade() != null) {
+                eventPublisher.publishEvent(new GradeChangedEvent(GradeScores.of(enrollment.getGrade()), null, null));
+            }
+            enrollmentRepository.delete(enrollment);
+            eventPublisher.publishEvent(new EnrollmentChangedEvent(
+                    enrollment.getStudent().getId(), enrollment.getModule().getId(), false));
+        });
     }
 
     @Transactional(readOnly = true)
@@ -58,4 +73,12 @@ public class EnrollmentService {
     public List<Enrollment> findByModuleId(Long moduleId) {
         return enrollmentRepository.findByModuleId(moduleId);
     }
+
+    /**
+     * Inscriptions du module avec étudiant, groupe et note déjà chargés, triées par nom
+     */
+    @Transactional(readOnly = true)
+    public List<Enrollment> findGradeSheet(Long moduleId) {
+        return enrollmentRepository.findGradeSheetByModuleId(moduleId);
+    }
 }
@@ -0,0 +1,221 @@
+package com.uniflow.service;
+
+import com.uniflow.model.enums.ExportFormat;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Écriture ligne à ligne d'un export, CSV ou XLSX, directement dans le flux de sortie.
+ * Aucune ligne n'est retenue après son écriture : la mémoire utilisée ne dépend pas de la taille de l'export.
+ * Le flux de sortie n'est pas fermé, seulement vidé.
+ * Le fichier n'est terminé à la fermeture que si {@link #complete()} a été appelé : un export interrompu
+ * par une erreur reste visiblement incomplet (archive XLSX illisible, réponse coupée) plutôt que bien formé mais tronqué.
+ */
+abstract class ExportRowWriter implements AutoCloseable {
+
+    private boolean completed;
+
+    static ExportRowWriter open(OutputStream out, ExportFormat format, List<String> header) throws IOException {
+        ExportRowWriter writer = format == ExportFormat.XLSX ? new XlsxRows(out) : new CsvRows(out);
+        writer.writeRow(List.copyOf(header));
+        return writer;
+    }
+
+    /**
+     * Une ligne ; une valeur nulle laisse la cellule vide, un nombre reste numérique
+     */
+    abstract void writeRow(List<?> values) throws IOException;
+
+    /**
+     * Toutes les lignes sont écrites : le fichier sera terminé à la fermeture
+     */
+    void complete() {
+        completed = true;
+    }
+
+    /**
+     * Écrit la fin du fichier et vide le flux
+     */
+    abstract void finish() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        if (completed) {
+            finish();
+        }
+    }
+
+    // ========================================
+    // CSV
+    // ========================================
+
+    private static final class CsvRows extends ExportRowWriter {
+
+        private final Writer writer;
+
+        CsvRows(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // BOM : sans lui, un tableur lit les accents en Latin-1
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        void writeRow(List<?> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values.get(i);
+                if (value instanceof Number) {
+                    writer.write(value.toString());
+                } else if (value != null) {
+                    writer.write(quote(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        /**
+         * Guillemets si nécessaire ; un texte commençant comme une formule est préfixé d'une apostrophe
+         * pour qu'un tableur ne l'évalue pas
+         */
+        private static String quote(String value) {
+            if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+                value = "'" + value;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // ========================================
+    // XLSX
+    // ========================================
+
+    /**
+     * Classeur d'une feuille : les parties fixes sont écrites à l'ouverture, la feuille est compressée au fil des lignes.
+     * Les textes sont des chaînes en ligne (inlineStr) plutôt qu'une table partagée, qu'il faudrait garder en mémoire.
+     */
+    private static final class XlsxRows extends ExportRowWriter {
+
+        private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            </Types>""";
+
+        private static final String ROOT_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+        private static final String WORKBOOK = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="Grades" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+
+        private static final String WORKBOOK_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+            </Relationships>""";
+
+        private static final String SHEET_START = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+            <sheetViews><sheetView workbookViewId="0"><pane ySplit="1" topLeftCell="A2" activePane="bottomLeft" state="frozen"/></sheetView></sheetViews>\
+            <sheetData>""";
+
+        private static final String SHEET_END = "</sheetData></worksheet>";
+
+        private final ZipOutputStream zip;
+        private final Writer writer;
+
+        XlsxRows(OutputStream out) throws IOException {
+            this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+            part("[Content_Types].xml", CONTENT_TYPES);
+            part("_rels/.rels", ROOT_RELS);
+            part("xl/workbook.xml", WORKBOOK);
+            part("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+            zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+            writer.write(SHEET_START);
+        }
+
+        private void part(String name, String content) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            writer.write(content);
+            writer.flush();
+            zip.closeEntry();
+        }
+
+        @Override
+        void writeRow(List<?> values) throws IOException {
+            writer.write("<row>");
+            for (Object value : values) {
+                if (value == null) {
+                    writer.write("<c/>");
+                } else if (value instanceof Number) {
+                    writer.write("<c><v>");
+                    writer.write(value.toString());
+                    writer.write("</v></c>");
+                } else {
+                    writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                    writeEscaped(value.toString());
+                    writer.write("</t></is></c>");
+                }
+            }
+            writer.write("</row>");
+        }
+
+        /**
+         * Échappement XML ; les caractères de contrôle, interdits en XML 1.0, sont omis
+         */
+        private void writeEscaped(String text) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '<' -> writer.write("&lt;");
+                    case '>' -> writer.write("&gt;");
+                    case '&' -> writer.write("&amp;");
+                    case '"' -> writer.write("&quot;");
+                    default -> {
+                        if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                            writer.write(c);
+                        }
+                    }
+                }
+            }
+        }
+
+        @Override
+        void finish() throws IOException {
+            writer.write(SHEET_END);
+            writer.flush();
+            zip.closeEntry();
+            zip.finish();
+            zip.flush();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.GradeExportFilter;
+import com.uniflow.dto.GradeExportRow;
+import com.uniflow.model.enums.ExportFormat;
+import com.uniflow.repository.GradeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Export des notes d'un module, d'une filière ou d'un semestre, en CSV ou XLSX.
+ * Les lignes sont lues au fil d'un curseur et écrites aussitôt dans la réponse :
+ * ni la liste des notes ni le fichier ne sont construits en mémoire, quelle que soit la taille de l'export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradeExportService {
+
+    private final GradeRepository gradeRepository;
+
+    /**
+     * Écrit l'export dans {@code out} et renvoie le nombre de notes exportées
+     */
+    @Transactional(readOnly = true)
+    public long export(GradeExportFilter filter, ExportFormat format, OutputStream out) throws IOException {
+        if (filter.isEmpty()) {
+            throw new IllegalArgumentException("Choose a module, a program or a semester to export");
+        }
+        long count = 0;
+        try (Stream<GradeExportRow> rows = gradeRepository.streamExportRows(filter.moduleId(), filter.program(), filter.semester());
+             ExportRowWriter writer = ExportRowWriter.open(out, format, GradeExportRow.HEADER)) {
+            for (GradeExportRow row : (Iterable<GradeExportRow>) rows::iterator) {
+                writer.writeRow(row.values());
+                count++;
+            }
+            writer.complete();
+        }
+        log.info("Grade export {} ({}): {} grades", filter, format, count);
+        return count;
+    }
+}
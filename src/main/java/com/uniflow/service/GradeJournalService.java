@@ -0,0 +1,135 @@
+package com.uniflow.service;
+
+import com.uniflow.config.PrimaryTransactions;
+import com.uniflow.dto.GradeScores;
+import com.uniflow.event.GradeChangedEvent;
+import com.uniflow.model.GradeJournalEntry;
+import com.uniflow.model.enums.GradeChangeType;
+import com.uniflow.repository.GradeJournalRepository;
+import com.uniflow.repository.GradeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Journal des notes, pour les recours : chaque création, modification ou suppression validée y est ajoutée
+ * (valeurs avant et après, enseignant, instant du commit) par {@link GradeJournalWriter}, hors du thread de la requête.
+ * Une note peut être reconstituée telle qu'elle était à n'importe quel instant.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class GradeJournalService {
+
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(2);
+
+    private final GradeJournalRepository gradeJournalRepository;
+    private final GradeRepository gradeRepository;
+    private final GradeJournalWriter gradeJournalWriter;
+    /**
+     * Les entrées attendues viennent d'être écrites sur la base principale : une réplique en retard ne les a pas encore
+     */
+    private final PrimaryTransactions primaryTransactions;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeChanged(GradeChangedEvent event) {
+        gradeJournalWriter.append(toEntry(event, LocalDateTime.now()));
+    }
+
+    /**
+     * Changements de la note d'une inscription, du plus récent au plus ancien
+     */
+    public List<GradeJournalEntry> findHistory(Long studentId, Long moduleId) {
+        awaitJournal();
+        return primaryTransactions.execute(status ->
+                gradeJournalRepository.findByStudentIdAndModuleIdOrderByChangedAtDescIdDesc(studentId, moduleId));
+    }
+
+    /**
+     * Note de l'inscription telle qu'elle était à l'instant donné, vide si elle n'existait pas.
+     * Sans changement journalisé avant cet instant, l'état d'avant le premier changement suivant fait foi ;
+     * sans aucun changement, la note n'a pas bougé depuis la mise en place du journal.
+     */
+    public Optional<GradeScores> findGradeAsOf(Long studentId, Long moduleId, LocalDateTime instant) {
+        awaitJournal();
+        return primaryTransactions.execute(status -> findGradeAsOfOnPrimary(studentId, moduleId, instant));
+    }
+
+    private Optional<GradeScores> findGradeAsOfOnPrimary(Long studentId, Long moduleId, LocalDateTime instant) {
+        Optional<GradeJournalEntry> last = gradeJournalRepository
+                .findFirstByStudentIdAndModuleIdAndChangedAtLessThanEqualOrderByChangedAtDescIdDesc(studentId, moduleId, instant);
+        if (last.isPresent()) {
+            return after(last.get());
+        }
+        Optional<GradeJournalEntry> next = gradeJournalRepository
+                .findFirstByStudentIdAndModuleIdAndChangedAtAfterOrderByChangedAtAscIdAsc(studentId, moduleId, instant);
+        if (next.isPresent()) {
+            return before(next.get());
+        }
+        return gradeRepository.findByStudentIdAndModuleId(studentId, moduleId).map(GradeScores::of);
+    }
+
+    /**
+     * Les entrées encore en file ne sont pas visibles en base : la lecture attend qu'elles soient écrites.
+     * La transaction de lecture n'est ouverte qu'après l'attente, pour ne pas retenir de connexion.
+     */
+    private void awaitJournal() {
+        try {
+            if (!gradeJournalWriter.awaitFlushed(FLUSH_TIMEOUT)) {
+                log.warn("Grade journal still has pending entries, history may be incomplete");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static GradeJournalEntry toEntry(GradeChangedEvent event, LocalDateTime changedAt) {
+        GradeScores before = event.before();
+        GradeScores after = event.after();
+        GradeScores grade = after != null ? after : before;
+        GradeChangeType type = before == null ? GradeChangeType.CREATED
+                : after == null ? GradeChangeType.DELETED : GradeChangeType.UPDATED;
+        return GradeJournalEntry.builder()
+                .gradeId(grade.gradeId())
+                .studentId(grade.studentId())
+                .moduleId(grade.moduleId())
+                .changeType(type)
+                .teacherId(event.teacherId())
+                .changedAt(changedAt)
+                .oldLabGrade(before != null ? before.labGrade() : null)
+                .newLabGrade(after != null ? after.labGrade() : null)
+                .oldExamGrade(before != null ? before.examGrade() : null)
+                .newExamGrade(after != null ? after.examGrade() : null)
+                .oldProjectGrade(before != null ? before.projectGrade() : null)
+                .newProjectGrade(after != null ? after.projectGrade() : null)
+                .oldParticipationGrade(before != null ? before.participationGrade() : null)
+                .newParticipationGrade(after != null ? after.participationGrade() : null)
+                .oldFinalGrade(before != null ? before.finalGrade() : null)
+                .newFinalGrade(after != null ? after.finalGrade() : null)
+                .build();
+    }
+
+    private static Optional<GradeScores> after(GradeJournalEntry entry) {
+        if (entry.getChangeType() == GradeChangeType.DELETED) {
+            return Optional.empty();
+        }
+        return Optional.of(new GradeScores(entry.getGradeId(), entry.getModuleId(), entry.getStudentId(),
+                entry.getNewLabGrade(), entry.getNewExamGrade(), entry.getNewProjectGrade(),
+                entry.getNewParticipationGrade(), entry.getNewFinalGrade()));
+    }
+
+    private static Optional<GradeScores> before(GradeJournalEntry entry) {
+        if (entry.getChangeType() == GradeChangeType.CREATED) {
+            return Optional.empty();
+        }
+        return Optional.of(new GradeScores(entry.getGradeId(), entry.getModuleId(), entry.getStudentId(),
+                entry.getOldLabGrade(), entry.getOldExamGrade(), entry.getOldProjectGrade(),
+                entry.getOldParticipationGrade(), entry.getOldFinalGrade()));
+    }
+}
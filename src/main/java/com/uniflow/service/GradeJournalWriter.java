@@ -0,0 +1,269 @@
+package com.uniflow.service;
+
+import com.uniflow.model.GradeJournalEntry;
+import com.uniflow.repository.GradeJournalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Écriture du journal des notes hors du thread de la requête.
+ * Les entrées attendent dans une file bornée ; un thread unique les enregistre par lots (INSERT groupés),
+ * dès qu'un lot est plein ou au plus tard après {@code flush-interval}.
+ * File pleine : l'entrée est écrite par l'appelant plutôt que perdue, la saisie ralentit au lieu de perdre l'historique.
+ * Un lot qui échoue (base indisponible) est retenté avec une attente croissante tant que l'application tourne ;
+ * seul un échec persistant à l'arrêt le fait abandonner, chaque entrée étant alors journalisée en entier.
+ * Chaque entrée reçoit un numéro d'ordre : une lecture n'attend que les entrées acceptées avant elle.
+ * À l'arrêt de l'application, la file est vidée avant la fermeture de la base.
+ */
+@Component
+@Slf4j
+public class GradeJournalWriter implements SmartLifecycle {
+
+    /**
+     * Tentatives accordées à un lot une fois l'arrêt demandé
+     */
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final GradeJournalRepository gradeJournalRepository;
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<Queued> queue;
+
+    /**
+     * Entrées écrites par un appelant et refusées par la base, reprises en priorité par le thread d'écriture
+     */
+    private final Queue<Queued> retries = new ConcurrentLinkedQueue<>();
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    /**
+     * Numéro de la dernière entrée acceptée
+     */
+    private final AtomicLong appended = new AtomicLong();
+
+    /**
+     * Toutes les entrées jusqu'à {@code flushedSequence} sont enregistrées (ou abandonnées) ;
+     * {@code flushedAhead} garde les numéros traités au-delà, les lots pouvant se terminer dans le désordre
+     */
+    private final Object flushed = new Object();
+    private long flushedSequence;
+    private final TreeSet<Long> flushedAhead = new TreeSet<>();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public GradeJournalWriter(GradeJournalRepository gradeJournalRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${uniflow.grade-journal.queue-capacity:10000}") int queueCapacity,
+                              @Value("${uniflow.grade-journal.batch-size:500}") int batchSize,
+                              @Value("${uniflow.grade-journal.flush-interval:200ms}") Duration flushInterval) {
+        this.gradeJournalRepository = gradeJournalRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+    }
+
+    /**
+     * Confie une entrée au thread d'écriture ; file pleine ou écriture arrêtée, elle est enregistrée tout de suite
+     */
+    public void append(GradeJournalEntry entry) {
+        Queued queued = new Queued(appended.incrementAndGet(), entry);
+        if (running && queue.offer(queued)) {
+            return;
+        }
+        log.debug("Grade journal queue full or stopped, writing entry on the calling thread");
+        List<Queued> batch = List.of(queued);
+        if (!running) {
+            write(batch);
+            return;
+        }
+        if (tryWrite(batch)) {
+            markFlushed(batch);
+        } else {
+            // Le thread d'écriture la reprendra avec les autres, sans bloquer la requête
+            retries.add(queued);
+        }
+    }
+
+    /**
+     * Attend que les entrées acceptées avant l'appel soient enregistrées, au plus {@code timeout} ;
+     * les entrées ajoutées pendant l'attente ne la prolongent pas.
+     * Renvoie {@code false} si certaines attendent encore.
+     */
+    public boolean awaitFlushed(Duration timeout) throws InterruptedException {
+        long target = appended.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (flushed) {
+            while (flushedSequence < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(flushed, remaining);
+            }
+        }
+        return true;
+    }
+
+    private void run() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || !retries.isEmpty()) {
+            for (Queued retry; batch.size() < batchSize && (retry = retries.poll()) != null; ) {
+                batch.add(retry);
+            }
+            if (!batch.isEmpty()) {
+                queue.drainTo(batch, batchSize - batch.size());
+                write(batch);
+                batch.clear();
+                continue;
+            }
+            try {
+                Queued first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Laisse le lot se remplir pendant l'intervalle, sans dépasser sa taille
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Queued next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Arrêt : la boucle reprend pour vider la file
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Enregistre un lot en une transaction, en retentant avec une attente croissante (base momentanément
+     * indisponible) tant que l'application tourne. Après l'arrêt, un lot qui échoue encore {@code MAX_ATTEMPTS} fois
+     * est abandonné et chaque entrée journalisée, de quoi la réinsérer à la main.
+     */
+    private void write(List<Queued> batch) {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        int attemptsWhileStopping = 0;
+        for (int attempt = 1; !tryWrite(batch); attempt++) {
+            if (!running && ++attemptsWhileStopping >= MAX_ATTEMPTS) {
+                log.error("Grade journal: {} entries lost after {} attempts", batch.size(), attempt);
+                batch.forEach(queued -> log.error("Grade journal entry lost: {}", queued.entry()));
+                break;
+            }
+            // À l'arrêt, pas d'attente longue : la fermeture de l'application ne doit pas traîner
+            long pause = running ? backoff : INITIAL_BACKOFF_MILLIS;
+            log.warn("Grade journal write of {} entries failed (attempt {}), retrying in {} ms",
+                    batch.size(), attempt, pause);
+            try {
+                Thread.sleep(pause);
+            } catch (InterruptedException e) {
+                // Arrêt demandé (stop) : les tentatives restantes sont décomptées
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+        markFlushed(batch);
+    }
+
+    private boolean tryWrite(List<Queued> batch) {
+        List<GradeJournalEntry> entries = batch.stream().map(Queued::entry).toList();
+        try {
+            writeTransaction.executeWithoutResult(status -> gradeJournalRepository.saveAll(entries));
+            return true;
+        } catch (RuntimeException e) {
+            log.debug("Grade journal write failed", e);
+            // Les identifiants tirés pendant la transaction annulée ne valent plus rien
+            entries.forEach(entry -> entry.setId(null));
+            return false;
+        }
+    }
+
+    private void markFlushed(List<Queued> batch) {
+        synchronized (flushed) {
+            batch.forEach(queued -> flushedAhead.add(queued.sequence()));
+            while (flushedAhead.remove(flushedSequence + 1)) {
+                flushedSequence++;
+            }
+            flushed.notifyAll();
+        }
+    }
+
+    private record Queued(long sequence, GradeJournalEntry entry) {
+    }
+
+    // ========================================
+    // CYCLE DE VIE
+    // ========================================
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "grade-journal-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Queued> rest = new ArrayList<>();
+        for (Queued retry; (retry = retries.poll()) != null; ) {
+            rest.add(retry);
+        }
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            write(rest);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Démarre avant le serveur web et s'arrête après lui : plus aucune requête ne peut ajouter d'entrée
+     * quand la file est vidée
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+}
@@ -1,24 +1,53 @@
 package com.uniflow.service;
 
+import com.uniflow.config.PrimaryTransactions;
+import com.uniflow.dto.GradeEntry;
+import com.uniflow.dto.GradeScores;
+import com.uniflow.dto.GradeSheetResult;
+import com.uniflow.dto.GradeStatistics;
+import com.uniflow.event.GradeChangedEvent;
+import com.uniflow.model.Enrollment;
 import com.uniflow.model.Grade;
+import com.uniflow.model.Module;
+import com.uniflow.model.enums.GradeComponent;
 import com.uniflow.repository.EnrollmentRepository;
 import com.uniflow.repository.GradeRepository;
+import com.uniflow.repository.ModuleRepository;
 import com.uniflow.repository.TeacherRepository;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class GradeService {
 
+    private static final String STALE_ROW = ": grades were changed by someone else since the sheet was loaded, reload it";
+
     private final GradeRepository gradeRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final TeacherRepository teacherRepository;
+    private final ModuleRepository moduleRepository;
+    private final Validator validator;
+    private final GradeStatisticsIndex gradeStatisticsIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrimaryTransactions primaryTransactions;
 
     public Grade createGrade(Long enrollmentId, Long teacherId, Double labGrade, Double examGrade,
                              Double projectGrade, Double participationGrade, Double finalGrade, String feedback) {
@@ -39,13 +68,16 @@ public class GradeService {
                 .feedback(feedback)
                 .build();
 
-        return gradeRepository.save(grade);
+        Grade saved = gradeRepository.save(grade);
+        eventPublisher.publishEvent(new GradeChangedEvent(null, GradeScores.of(saved), teacherId));
+        return saved;
     }
 
-    public Grade updateGrade(Long id, Double labGrade, Double examGrade, Double projectGrade,
+    public Grade updateGrade(Long id, Long teacherId, Double labGrade, Double examGrade, Double projectGrade,
                              Double participationGrade, Double finalGrade, String feedback) {
         Grade grade = gradeRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Grade not found: " + id));
+        GradeScores before = GradeScores.of(grade);
 
         grade.setLabGrade(labGrade);
         grade.setExamGrade(examGrade);
@@ -54,11 +86,154 @@ public class GradeService {
         grade.setFinalGrade(finalGrade);
         grade.setFeedback(feedback);
 
-        return gradeRepository.save(grade);
+        Grade saved = gradeRepository.save(grade);
+        eventPublisher.publishEvent(new GradeChangedEvent(before, GradeScores.of(saved), teacherId));
+        return saved;
     }
 
-    public void deleteGrade(Long id) {
-        gradeRepository.deleteById(id);
+    /**
+     * Enregistre en une fois la grille de notes d'un module.
+     * Le droit de noter est vérifié une seule fois, les inscriptions et leurs notes sont lues en une requête
+     * et toutes les lignes sont validées avant la moindre écriture. Les notes créées ou modifiées partent
+     * ensuite en INSERT et UPDATE groupés (hibernate.jdbc.batch_size) ; une ligne inchangée n'est pas réécrite.
+     * Une inscription présente deux fois est refusée, comme une ligne dont la note a changé depuis l'affichage
+     * de la grille (version) : chaque erreur est rapportée sur la ligne de l'étudiant.
+     */
+    public GradeSheetResult saveGradeSheet(Long moduleId, Long teacherId, List<GradeEntry> entries) {
+        Module module = moduleRepository.findById(moduleId)
+                .orElseThrow(() -> new IllegalArgumentException("Module not found: " + moduleId));
+        if (module.getResponsibleTeacher() == null || !module.getResponsibleTeacher().getId().equals(teacherId)) {
+            throw new IllegalStateException("You are not authorized to grade this module");
+        }
+
+        Map<Long, Enrollment> enrollments = enrollmentRepository.findGradeSheetByModuleId(moduleId).stream()
+                .collect(Collectors.toMap(Enrollment::getId, Function.identity()));
+
+        List<String> errors = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        for (GradeEntry entry : entries) {
+            Enrollment enrollment = enrollments.get(entry.enrollmentId());
+            if (enrollment == null) {
+                errors.add("Enrollment " + entry.enrollmentId() + " does not belong to this module");
+                continue;
+            }
+            String student = studentName(enrollment);
+            if (!seen.add(entry.enrollmentId())) {
+                errors.add(student + ": appears more than once in the sheet");
+                continue;
+            }
+            Grade current = enrollment.getGrade();
+            if (!Objects.equals(current != null ? current.getVersion() : null, entry.version())) {
+                errors.add(student + STALE_ROW);
+                continue;
+            }
+            validateGrade("labGrade", entry.labGrade(), student, errors);
+            validateGrade("examGrade", entry.examGrade(), student, errors);
+            validateGrade("projectGrade", entry.projectGrade(), student, errors);
+            validateGrade("participationGrade", entry.participationGrade(), student, errors);
+            validateGrade("finalGrade", entry.finalGrade(), student, errors);
+        }
+        if (!errors.isEmpty()) {
+            return new GradeSheetResult(0, errors);
+        }
+
+        List<Grade> created = new ArrayList<>();
+        List<Grade> changed = new ArrayList<>();
+        List<GradeScores> previous = new ArrayList<>();
+        for (GradeEntry entry : entries) {
+            Enrollment enrollment = enrollments.get(entry.enrollmentId());
+            Grade grade = enrollment.getGrade();
+            GradeScores before = grade != null ? GradeScores.of(grade) : null;
+            if (grade == null) {
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                grade = Grade.builder()
+                        .enrollment(enrollment)
+                        .givenByTeacher(module.getResponsibleTeacher())
+                        .build();
+                enrollment.setGrade(grade);
+                created.add(grade);
+            } else if (isUnchanged(grade, entry)) {
+                continue;
+            }
+            grade.setLabGrade(entry.labGrade());
+            grade.setExamGrade(entry.examGrade());
+            grade.setProjectGrade(entry.projectGrade());
+            grade.setParticipationGrade(entry.participationGrade());
+            grade.setFinalGrade(entry.finalGrade());
+            changed.add(grade);
+            previous.add(before);
+        }
+        gradeRepository.saveAll(created);
+        List<String> conflicts = flushGradeSheet(created, changed);
+        if (!conflicts.isEmpty()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new GradeSheetResult(0, conflicts);
+        }
+
+        for (int i = 0; i < changed.size(); i++) {
+            eventPublisher.publishEvent(new GradeChangedEvent(previous.get(i), GradeScores.of(changed.get(i)), teacherId));
+        }
+        return new GradeSheetResult(changed.size(), List.of());
+    }
+
+    /**
+     * Écrit la grille avant le commit : une saisie concurrente (note créée entre-temps sur la même inscription,
+     * ou modifiée depuis la lecture) est rapportée sur la ligne concernée au lieu de faire échouer le commit
+     */
+    private List<String> flushGradeSheet(List<Grade> created, List<Grade> changed) {
+        try {
+            gradeRepository.flush();
+            return List.of();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            List<String> conflicts = changed.stream()
+                    .filter(grade -> Objects.equals(grade.getId(), e.getIdentifier()))
+                    .map(grade -> studentName(grade.getEnrollment()) + STALE_ROW)
+                    .toList();
+            if (conflicts.isEmpty()) {
+                throw e;
+            }
+            return conflicts;
+        } catch (DataIntegrityViolationException e) {
+            // Transaction interrompue : les inscriptions notées entre-temps sont relues dans une transaction à part
+            List<Long> enrollmentIds = created.stream().map(grade -> grade.getEnrollment().getId()).toList();
+            Set<Long> graded = new HashSet<>(primaryTransactions.execute(status ->
+                    gradeRepository.findGradedEnrollmentIds(enrollmentIds)));
+            List<String> conflicts = created.stream()
+                    .filter(grade -> graded.contains(grade.getEnrollment().getId()))
+                    .map(grade -> studentName(grade.getEnrollment()) + STALE_ROW)
+                    .toList();
+            if (conflicts.isEmpty()) {
+                throw e;
+            }
+            return conflicts;
+        }
+    }
+
+    private static String studentName(Enrollment enrollment) {
+        return enrollment.getStudent().getFirstName() + " " + enrollment.getStudent().getLastName();
+    }
+
+    private void validateGrade(String property, Double value, String student, List<String> errors) {
+        validator.validateValue(Grade.class, property, value)
+                .forEach(violation -> errors.add(student + ": " + violation.getMessage()));
+    }
+
+    private static boolean isUnchanged(Grade grade, GradeEntry entry) {
+        return Objects.equals(grade.getLabGrade(), entry.labGrade())
+                && Objects.equals(grade.getExamGrade(), entry.examGrade())
+                && Objects.equals(grade.getProjectGrade(), entry.projectGrade())
+                && Objects.equals(grade.getParticipationGrade(), entry.participationGrade())
+                && Objects.equals(grade.getFinalGrade(), entry.finalGrade());
+    }
+
+    public void deleteGrade(Long id, Long teacherId) {
+        gradeRepository.findById(id).ifPresent(grade -> {
+            GradeScores before = GradeScores.of(grade);
+            gradeRepository.delete(grade);
+            eventPublisher.publishEvent(new GradeChangedEvent(before, null, teacherId));
+        });
     }
 
     @Transactional(readOnly = true)
@@ -81,6 +256,14 @@ public class GradeService {
         return gradeRepository.findByModuleId(moduleId);
     }
 
+    /**
+     * Statistiques de chaque composante de note du module, lues dans l'index en mémoire
+     */
+    @Transactional(readOnly = true)
+    public Map<GradeComponent, GradeStatistics> getModuleStatistics(Long moduleId) {
+        return gradeStatisticsIndex.getModuleStatistics(moduleId);
+    }
+
     @Transactional(readOnly = true)
     public List<Grade> findByModuleIdAndTeacherId(Long moduleId, Long teacherId) {
         return gradeRepository.findByModuleIdAndTeacherId(moduleId, teacherId);
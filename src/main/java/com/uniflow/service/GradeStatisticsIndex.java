@@ -0,0 +1,186 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.GradeScores;
+import com.uniflow.dto.GradeStatistics;
+import com.uniflow.event.GradeChangedEvent;
+import com.uniflow.model.enums.GradeComponent;
+import com.uniflow.repository.GradeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Statistiques des notes par module, tenues en mémoire.
+ * Pour chaque module et chaque composante, l'index garde l'effectif de chaque valeur de note :
+ * une note créée, modifiée ou supprimée ne déplace que quelques compteurs, et moyenne, médiane,
+ * écart type, extrêmes, taux de réussite et histogramme se calculent sur ces effectifs sans requête.
+ * L'index est chargé à la première utilisation puis tenu à jour après chaque commit.
+ * Il retient les valeurs comptées pour chaque note : un événement rejoué, ou déjà vu par le chargement,
+ * remplace ces valeurs au lieu de les compter deux fois, et une note inconnue n'est jamais décomptée.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GradeStatisticsIndex {
+
+    private final GradeRepository gradeRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Map<GradeComponent, TreeMap<Double, Long>>> modules = new HashMap<>();
+
+    /**
+     * Valeurs comptées pour chaque note, par identifiant de note
+     */
+    private final Map<Long, GradeScores> applied = new HashMap<>();
+    private volatile boolean loaded;
+
+    // ========================================
+    // LECTURE
+    // ========================================
+
+    /**
+     * Statistiques de chaque composante de note du module, dans l'ordre des composantes
+     */
+    public Map<GradeComponent, GradeStatistics> getModuleStatistics(Long moduleId) {
+        return read(() -> {
+            Map<GradeComponent, TreeMap<Double, Long>> components = modules.getOrDefault(moduleId, Map.of());
+            Map<GradeComponent, GradeStatistics> statistics = new EnumMap<>(GradeComponent.class);
+            for (GradeComponent component : GradeComponent.values()) {
+                statistics.put(component, summarize(components.getOrDefault(component, new TreeMap<>())));
+            }
+            return statistics;
+        });
+    }
+
+    // ========================================
+    // MISE À JOUR
+    // ========================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeChanged(GradeChangedEvent event) {
+        GradeScores current = event.after() != null ? event.after() : event.before();
+        write(() -> {
+            GradeScores previous = event.after() != null
+                ? applied.put(current.gradeId(), event.after())
+                : applied.remove(current.gradeId());
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            if (event.after() != null) {
+                apply(event.after(), 1);
+            }
+        });
+    }
+
+    private void load() {
+        modules.clear();
+        applied.clear();
+        List<GradeScores> grades = gradeRepository.findAllScores();
+        grades.forEach(grade -> {
+            applied.put(grade.gradeId(), grade);
+            apply(grade, 1);
+        });
+        loaded = true;
+        log.info("Grade statistics index loaded: {} grades over {} modules", grades.size(), modules.size());
+    }
+
+    private void apply(GradeScores grade, int delta) {
+        Map<GradeComponent, TreeMap<Double, Long>> components =
+            modules.computeIfAbsent(grade.moduleId(), id -> new EnumMap<>(GradeComponent.class));
+        for (GradeComponent component : GradeComponent.values()) {
+            Double value = grade.get(component);
+            if (value != null) {
+                components.computeIfAbsent(component, c -> new TreeMap<>())
+                    .merge(value, (long) delta, (count, change) -> count + change == 0 ? null : count + change);
+            }
+        }
+    }
+
+    /**
+     * Statistiques d'une composante à partir des effectifs par valeur, en un passage sur les valeurs distinctes
+     */
+    private static GradeStatistics summarize(TreeMap<Double, Long> counts) {
+        long[] histogram = new long[GradeStatistics.BUCKETS];
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        if (total == 0) {
+            return new GradeStatistics(0, null, null, null, null, null, null, toList(histogram));
+        }
+
+        double sum = 0;
+        double sumOfSquares = 0;
+        long passed = 0;
+        long seen = 0;
+        Double lowerMiddle = null;
+        Double upperMiddle = null;
+        for (Map.Entry<Double, Long> entry : counts.entrySet()) {
+            double value = entry.getKey();
+            long count = entry.getValue();
+            sum += value * count;
+            sumOfSquares += value * value * count;
+            if (value >= GradeStatistics.PASS_MARK) {
+                passed += count;
+            }
+            int bucket = Math.max(0, Math.min(GradeStatistics.BUCKETS - 1, (int) (value / GradeStatistics.BUCKET_WIDTH)));
+            histogram[bucket] += count;
+
+            // Médiane : valeurs de rang (total - 1) / 2 et total / 2 (confondues si l'effectif est impair)
+            if (lowerMiddle == null && seen + count > (total - 1) / 2) {
+                lowerMiddle = value;
+            }
+            if (upperMiddle == null && seen + count > total / 2) {
+                upperMiddle = value;
+            }
+            seen += count;
+        }
+
+        double mean = sum / total;
+        double variance = Math.max(0, sumOfSquares / total - mean * mean);
+        return new GradeStatistics(total, mean, (lowerMiddle + upperMiddle) / 2, Math.sqrt(variance),
+            counts.firstKey(), counts.lastKey(), (double) passed / total, toList(histogram));
+    }
+
+    private static List<Long> toList(long[] histogram) {
+        return Arrays.stream(histogram).boxed().toList();
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    load();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable writer) {
+        lock.writeLock().lock();
+        try {
+            // Tant que l'index n'est pas chargé, le prochain chargement lira l'état validé
+            if (loaded) {
+                writer.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package com.uniflow.service;
 
+import com.uniflow.dto.NamedOption;
+import com.uniflow.dto.StudentGroupLink;
+import com.uniflow.event.GradeChangedEvent;
+import com.uniflow.event.PeopleChangedEvent;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.event.StudentChangedEvent;
 import com.uniflow.model.Group;
+import com.uniflow.repository.GradeRepository;
 import com.uniflow.repository.GroupRepository;
+import com.uniflow.repository.SessionRepository;
+import com.uniflow.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +25,10 @@ import java.util.Optional;
 public class GroupService {
 
     private final GroupRepository groupRepository;
+    private final GradeRepository gradeRepository;
+    private final SessionRepository sessionRepository;
+    private final StudentRepository studentRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Group createGroup(String name, String program, String level) {
         if (groupRepository.findByNameAndProgramAndLevel(name, program, level).isPresent()) {
@@ -47,7 +61,18 @@ public class GroupService {
     }
 
     public void deleteGroup(Long id) {
+        // Les notes partent avec les étudiants du groupe (cascade)
+        gradeRepository.findScoresByGroupId(id)
+                .forEach(grade -> eventPublisher.publishEvent(new GradeChangedEvent(grade, null, null)));
+        // Les sessions du groupe et ses étudiants disparaissent avec lui
+        sessionRepository.findSlotsByGroupId(id)
+                .forEach(session -> eventPublisher.publishEvent(new SessionChangedEvent(session, null)));
+        List<Long> studentIds = studentRepository.findGroupLinksByGroupId(id).stream()
+                .map(StudentGroupLink::studentId)
+                .toList();
+        studentIds.forEach(studentId -> eventPublisher.publishEvent(new StudentChangedEvent(studentId, id, null, true)));
         groupRepository.deleteById(id);
+        eventPublisher.publishEvent(new PeopleChangedEvent(studentIds));
     }
 
     @Transactional(readOnly = true)
@@ -60,6 +85,14 @@ public class GroupService {
         return groupRepository.findAll();
     }
 
+    /**
+     * Identifiant et nom de chaque groupe, par nom (filtres des listes)
+     */
+    @Transactional(readOnly = true)
+    public List<NamedOption> findOptions() {
+        return groupRepository.findOptions();
+    }
+
     @Transactional(readOnly = true)
     public List<Group> findByProgram(String program) {
         return groupRepository.findByProgram(program);
@@ -0,0 +1,222 @@
+package com.uniflow.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lecture ligne à ligne d'un fichier d'import, CSV (avec en-tête) ou JSON (tableau d'objets).
+ * Le fichier n'est jamais chargé en entier : seule la ligne courante est en mémoire.
+ * Les noms de colonnes sont normalisés (minuscules, sans séparateurs) : {@code first_name},
+ * {@code First Name} et {@code firstName} désignent la même colonne.
+ */
+abstract class ImportRowReader implements AutoCloseable {
+
+    /**
+     * Ligne lue ; {@code error} est renseigné lorsque la ligne est mal formée
+     */
+    record ImportRow(String position, Map<String, String> values, String error) {
+
+        String get(String column) {
+            String value = values.get(normalize(column));
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    static ImportRowReader open(InputStream in, String filename, ObjectMapper objectMapper) throws IOException {
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        return name.endsWith(".json") ? new JsonRows(in, objectMapper) : new CsvRows(in);
+    }
+
+    /**
+     * Ligne suivante, ou null en fin de fichier
+     */
+    abstract ImportRow next() throws IOException;
+
+    abstract void closeSource() throws IOException;
+
+    @Override
+    public void close() {
+        try {
+            closeSource();
+        } catch (IOException ignored) {
+            // Le fichier a déjà été lu : rien à récupérer
+        }
+    }
+
+    static String normalize(String column) {
+        return column.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+
+    // ========================================
+    // CSV
+    // ========================================
+
+    private static final class CsvRows extends ImportRowReader {
+
+        private final BufferedReader reader;
+        private final List<String> header;
+        private final char separator;
+        private long lineNumber;
+
+        CsvRows(InputStream in) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String first = reader.readLine();
+            lineNumber = 1;
+            if (first == null) {
+                throw new IOException("Le fichier est vide.");
+            }
+            if (first.startsWith("\uFEFF")) {
+                first = first.substring(1);
+            }
+            // Export tableur français : point-virgule
+            this.separator = first.indexOf(';') >= 0 && first.indexOf(',') < 0 ? ';' : ',';
+            this.header = parse(first).fields().stream().map(ImportRowReader::normalize).toList();
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            String position = "Ligne " + lineNumber;
+            Record record = parse(line);
+            if (record.error() != null) {
+                return new ImportRow(position, Map.of(), record.error());
+            }
+            if (record.fields().size() != header.size()) {
+                return new ImportRow(position, Map.of(), header.size() + " colonnes attendues, "
+                    + record.fields().size() + " trouvées.");
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                values.put(header.get(i), record.fields().get(i));
+            }
+            return new ImportRow(position, values, null);
+        }
+
+        private record Record(List<String> fields, String error) {
+        }
+
+        /**
+         * Découpe un enregistrement ; un champ entre guillemets peut contenir séparateurs,
+         * guillemets doublés et retours à la ligne
+         */
+        private Record parse(String line) throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int i = 0;
+            while (true) {
+                if (i == line.length()) {
+                    if (!quoted) {
+                        break;
+                    }
+                    String continuation = reader.readLine();
+                    if (continuation == null) {
+                        return new Record(fields, "Guillemet non fermé.");
+                    }
+                    lineNumber++;
+                    field.append('\n');
+                    line = continuation;
+                    i = 0;
+                    continue;
+                }
+                char c = line.charAt(i++);
+                if (quoted) {
+                    if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == separator) {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return new Record(fields, null);
+        }
+
+        @Override
+        void closeSource() throws IOException {
+            reader.close();
+        }
+    }
+
+    // ========================================
+    // JSON
+    // ========================================
+
+    private static final class JsonRows extends ImportRowReader {
+
+        private final ObjectMapper objectMapper;
+        private final JsonParser parser;
+        private long index;
+
+        JsonRows(InputStream in, ObjectMapper objectMapper) throws IOException {
+            this.objectMapper = objectMapper;
+            this.parser = objectMapper.getFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Un tableau JSON d'objets est attendu.");
+            }
+        }
+
+        @Override
+        ImportRow next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+
+            String position = "Élément " + (++index);
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return new ImportRow(position, Map.of(), "Un objet est attendu.");
+            }
+            JsonNode node = objectMapper.readTree(parser);
+            Map<String, String> values = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                if (field.getValue().isContainerNode()) {
+                    return new ImportRow(position, Map.of(), "Valeur non scalaire pour " + field.getKey() + ".");
+                }
+                if (!field.getValue().isNull()) {
+                    values.put(normalize(field.getKey()), field.getValue().asText());
+                }
+            }
+            return new ImportRow(position, values, null);
+        }
+
+        @Override
+        void closeSource() throws IOException {
+            parser.close();
+        }
+    }
+}
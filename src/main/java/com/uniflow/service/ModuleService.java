@@ -1,14 +1,30 @@
 package com.uniflow.service;
 
+import com.uniflow.dto.KeysetPage;
+import com.uniflow.dto.ModuleListItem;
+import com.uniflow.dto.ModuleListRow;
+import com.uniflow.event.EnrollmentChangedEvent;
+import com.uniflow.event.GradeChangedEvent;
+import com.uniflow.event.ModuleChangedEvent;
+import com.uniflow.event.ModuleGroupsChangedEvent;
+import com.uniflow.event.SessionChangedEvent;
 import com.uniflow.model.Module;
+import com.uniflow.repository.EnrollmentRepository;
+import com.uniflow.repository.GradeRepository;
 import com.uniflow.repository.GroupRepository;
 import com.uniflow.repository.ModuleRepository;
+import com.uniflow.repository.SessionRepository;
 import com.uniflow.repository.TeacherRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -21,6 +37,10 @@ public class ModuleService {
     private final ModuleRepository moduleRepository;
     private final TeacherRepository teacherRepository;
     private final GroupRepository groupRepository;
+    private final GradeRepository gradeRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final SessionRepository sessionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Module createModule(String name, String program, Integer semester, Integer volumeHours,
                                 String requiredSkills, Long responsibleTeacherId) {
@@ -38,7 +58,9 @@ public class ModuleService {
                         teacherRepository.findById(responsibleTeacherId).orElse(null) : null)
                 .build();
 
-        return moduleRepository.save(module);
+        Module saved = moduleRepository.save(module);
+        eventPublisher.publishEvent(new ModuleChangedEvent(saved.getId()));
+        return saved;
     }
 
     public Module updateModule(Long id, String name, String program, Integer semester, Integer volumeHours,
@@ -59,7 +81,9 @@ public class ModuleService {
         module.setResponsibleTeacher(responsibleTeacherId != null ?
                 teacherRepository.findById(responsibleTeacherId).orElse(null) : null);
 
-        return moduleRepository.save(module);
+        Module saved = moduleRepository.save(module);
+        eventPublisher.publishEvent(new ModuleChangedEvent(id));
+        return saved;
     }
 
     public void assignGroupsToModule(Long moduleId, Set<Long> groupIds) {
@@ -73,10 +97,20 @@ public class ModuleService {
 
         module.setAssignedGroups(groups);
         moduleRepository.save(module);
+        eventPublisher.publishEvent(new ModuleGroupsChangedEvent(moduleId));
     }
 
     public void deleteModule(Long id) {
+        // Les notes partent avec les inscriptions (cascade)
+        gradeRepository.findScoresByModuleId(id)
+                .forEach(grade -> eventPublisher.publishEvent(new GradeChangedEvent(grade, null, null)));
+        // Comme ses sessions et ses inscriptions
+        sessionRepository.findSlotsByModuleId(id)
+                .forEach(session -> eventPublisher.publishEvent(new SessionChangedEvent(session, null)));
+        enrollmentRepository.findLinksByModuleId(id).forEach(link ->
+                eventPublisher.publishEvent(new EnrollmentChangedEvent(link.studentId(), id, false)));
         moduleRepository.deleteById(id);
+        eventPublisher.publishEvent(new ModuleChangedEvent(id));
     }
 
     @Transactional(readOnly = true)
@@ -89,6 +123,32 @@ public class ModuleService {
         return moduleRepository.findAll();
     }
 
+    /**
+     * Page de la liste d'administration en deux requêtes : identifiants de la page (filtres, clé),
+     * puis modules avec enseignant responsable et groupes affectés
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<ModuleListItem> findListPage(String program, Long teacherId, Long groupId, Long after, int size) {
+        KeysetPage<Long> ids = KeysetPage.of(moduleRepository.findListIds(
+                StringUtils.hasText(program) ? program.trim() : null, teacherId, groupId,
+                KeysetPage.start(after), KeysetPage.limit(size)), size, id -> id);
+        if (ids.items().isEmpty()) {
+            return new KeysetPage<>(List.of(), null);
+        }
+
+        Map<Long, ModuleListItem> items = new LinkedHashMap<>();
+        for (ModuleListRow row : moduleRepository.findListRows(ids.items())) {
+            ModuleListItem item = items.computeIfAbsent(row.id(), id -> new ModuleListItem(id, row.name(),
+                row.program(), row.semester(), row.volumeHours(),
+                row.teacherLastName() != null ? row.teacherFirstName() + " " + row.teacherLastName() : null,
+                new ArrayList<>()));
+            if (row.groupName() != null) {
+                item.groupNames().add(row.groupName());
+            }
+        }
+        return new KeysetPage<>(List.copyOf(items.values()), ids.nextAfter());
+    }
+
     @Transactional(readOnly = true)
     public List<Module> findByTeacherId(Long teacherId) {
         return moduleRepository.findByResponsibleTeacherId(teacherId);
@@ -0,0 +1,423 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.PersonSummary;
+import com.uniflow.event.PeopleChangedEvent;
+import com.uniflow.model.enums.RoleEnum;
+import com.uniflow.repository.StudentRepository;
+import com.uniflow.repository.TeacherRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Index en mémoire des étudiants et enseignants pour la recherche par sous-chaîne
+ * (nom, prénom, email), sans accent ni casse.
+ * Chaque champ est découpé en trigrammes ; une liste triée de documents par trigramme
+ * réduit une recherche à l'intersection de quelques listes, puis à la vérification des candidats.
+ * Les termes d'un ou deux caractères (saisie en cours) sont cherchés en début de mot.
+ * L'index est chargé à la première utilisation puis tenu à jour après chaque commit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PersonSearchIndex {
+
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TERMS = 5;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshLock = new Object();
+    private final List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> documentOfPerson = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private int removed;
+    private volatile boolean loaded;
+
+    /**
+     * Comptes modifiés pendant un chargement, relus une fois celui-ci terminé (le chargement a pu les lire avant le commit)
+     */
+    private final Set<Long> changedWhileLoading = new HashSet<>();
+    private boolean loading;
+
+    /**
+     * Personne indexée ; champs normalisés : nom, prénom, email
+     */
+    private record Document(PersonSummary person, String[] fields) {
+    }
+
+    private record Hit(PersonSummary person, int score) {
+    }
+
+    private static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+        .thenComparing(hit -> hit.person().lastName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+        .thenComparing(hit -> hit.person().firstName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+        .thenComparing(hit -> hit.person().id());
+
+    // ========================================
+    // RECHERCHE
+    // ========================================
+
+    /**
+     * Personnes dont chaque terme de la requête apparaît dans le nom, le prénom ou l'email,
+     * les plus pertinentes d'abord (égalité, puis début de champ, début de mot, sous-chaîne)
+     *
+     * @param role rôle recherché, ou null pour tous
+     */
+    public Page<PersonSummary> search(String query, RoleEnum role, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<String> terms = terms(query);
+        if (terms.isEmpty()) {
+            return Page.empty(pageRequest);
+        }
+        List<Hit> hits = read(() -> collect(terms, role));
+
+        // Seuls les premiers résultats sont triés : un tas borné suffit pour une page
+        int wanted = (int) Math.min(pageRequest.getOffset() + pageRequest.getPageSize(), hits.size());
+        PriorityQueue<Hit> best = new PriorityQueue<>(Math.max(1, wanted), RANKING.reversed());
+        for (Hit hit : hits) {
+            if (best.size() < wanted) {
+                best.add(hit);
+            } else if (wanted > 0 && RANKING.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            }
+        }
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort(RANKING);
+
+        int from = (int) Math.min(pageRequest.getOffset(), ranked.size());
+        List<PersonSummary> content = ranked.subList(from, ranked.size()).stream().map(Hit::person).toList();
+        return new PageImpl<>(content, pageRequest, hits.size());
+    }
+
+    private List<Hit> collect(List<String> terms, RoleEnum role) {
+        int[] candidates = null;
+        for (String term : terms) {
+            int[] matches = candidatesOf(term);
+            candidates = candidates == null ? matches : intersect(candidates, candidates.length, matches, matches.length);
+            if (candidates.length == 0) {
+                return new ArrayList<>();
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (int candidate : candidates) {
+            Document document = documents.get(candidate);
+            if (document == null || (role != null && document.person().role() != role)) {
+                continue;
+            }
+            int score = 0;
+            for (String term : terms) {
+                int termScore = score(document.fields(), term);
+                if (termScore == 0) {
+                    score = 0;
+                    break;
+                }
+                score += termScore;
+            }
+            if (score > 0) {
+                hits.add(new Hit(document.person(), score));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Documents contenant tous les trigrammes du terme (ou un mot commençant par le terme s'il est court) :
+     * un sur-ensemble des correspondances, vérifié ensuite champ par champ
+     */
+    private int[] candidatesOf(String term) {
+        List<Postings> lists = new ArrayList<>();
+        for (String key : keysOf(term)) {
+            Postings list = postings.get(key);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        int[] result = Arrays.copyOf(lists.get(0).documents, lists.get(0).size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, result.length, lists.get(i).documents, lists.get(i).size);
+        }
+        return result;
+    }
+
+    private static int score(String[] fields, String term) {
+        int best = 0;
+        for (int f = 0; f < fields.length; f++) {
+            String field = fields[f];
+            if (field.isEmpty()) {
+                continue;
+            }
+            int match;
+            if (field.equals(term)) {
+                match = 8;
+            } else if (field.startsWith(term)) {
+                match = 6;
+            } else if (startsAWord(field, term)) {
+                match = 4;
+            } else if (term.length() >= 3 && field.contains(term)) {
+                match = 2;
+            } else {
+                continue;
+            }
+            // Le nom et le prénom comptent double par rapport à l'email
+            best = Math.max(best, f < 2 ? match * 2 : match);
+        }
+        return best;
+    }
+
+    private static boolean startsAWord(String field, String term) {
+        for (int i = field.indexOf(term); i >= 0; i = field.indexOf(term, i + 1)) {
+            if (i == 0 || !Character.isLetterOrDigit(field.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========================================
+    // MISE À JOUR APRÈS COMMIT
+    // ========================================
+
+    /**
+     * Recharge les comptes modifiés ; un compte introuvable a été supprimé.
+     * Les rechargements sont sérialisés : le dernier appliqué a lu l'état validé le plus récent.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPeopleChanged(PeopleChangedEvent event) {
+        if (event.userIds().isEmpty()) {
+            return;
+        }
+        synchronized (changedWhileLoading) {
+            if (loading) {
+                changedWhileLoading.addAll(event.userIds());
+                return;
+            }
+        }
+        if (loaded) {
+            // Sinon, le prochain chargement lira l'état validé
+            refresh(event.userIds());
+        }
+    }
+
+    private void refresh(Collection<Long> userIds) {
+        synchronized (refreshLock) {
+            List<PersonSummary> current = new ArrayList<>(studentRepository.findSummaries(userIds));
+            current.addAll(teacherRepository.findSummaries(userIds));
+            lock.writeLock().lock();
+            try {
+                userIds.forEach(this::remove);
+                current.forEach(this::add);
+                if (removed > 1024 && removed > documents.size() / 4) {
+                    compact();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // ========================================
+    // INDEX
+    // ========================================
+
+    private void load() {
+        documents.clear();
+        documentOfPerson.clear();
+        postings.clear();
+        removed = 0;
+        studentRepository.findAllSummaries().forEach(this::add);
+        teacherRepository.findAllSummaries().forEach(this::add);
+        loaded = true;
+        log.info("Person search index loaded: {} people, {} keys", documentOfPerson.size(), postings.size());
+    }
+
+    private void add(PersonSummary person) {
+        String[] fields = {normalize(person.lastName()), normalize(person.firstName()), normalize(person.email())};
+        int number = documents.size();
+        documents.add(new Document(person, fields));
+        documentOfPerson.put(person.id(), number);
+
+        Set<String> keys = new HashSet<>();
+        for (String field : fields) {
+            for (int i = 0; i + 3 <= field.length(); i++) {
+                keys.add(field.substring(i, i + 3));
+            }
+            for (String word : NON_WORD.split(field)) {
+                if (!word.isEmpty()) {
+                    keys.add(prefixKey(word.substring(0, 1)));
+                }
+                if (word.length() >= 2) {
+                    keys.add(prefixKey(word.substring(0, 2)));
+                }
+            }
+        }
+        // Les numéros de document croissent : chaque liste reste triée
+        for (String key : keys) {
+            postings.computeIfAbsent(key, k -> new Postings()).add(number);
+        }
+    }
+
+    private void remove(Long personId) {
+        Integer number = documentOfPerson.remove(personId);
+        if (number != null) {
+            documents.set(number, null);
+            removed++;
+        }
+    }
+
+    /**
+     * Réindexe les seuls documents vivants une fois les suppressions trop nombreuses
+     */
+    private void compact() {
+        List<PersonSummary> live = documents.stream().filter(d -> d != null).map(Document::person).toList();
+        documents.clear();
+        documentOfPerson.clear();
+        postings.clear();
+        removed = 0;
+        live.forEach(this::add);
+    }
+
+    private static List<String> keysOf(String term) {
+        if (term.length() < 3) {
+            return List.of(prefixKey(term));
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            keys.add(term.substring(i, i + 3));
+        }
+        return new ArrayList<>(keys);
+    }
+
+    private static String prefixKey(String prefix) {
+        // Aucun trigramme ne commence par un caractère de contrôle
+        return "\u0000" + prefix;
+    }
+
+    static List<String> terms(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        return Arrays.stream(SPACES.split(normalize(query)))
+            .filter(term -> !term.isEmpty())
+            .distinct()
+            .limit(MAX_TERMS)
+            .toList();
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String stripped = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT).trim()).replaceAll(" ");
+    }
+
+    private static int[] intersect(int[] a, int aSize, int[] b, int bSize) {
+        int[] result = new int[Math.min(aSize, bSize)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < aSize && j < bSize) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        if (!loaded) {
+            boolean loadedHere = false;
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    synchronized (changedWhileLoading) {
+                        loading = true;
+                    }
+                    loadedHere = true;
+                    load();
+                }
+            } finally {
+                lock.writeLock().unlock();
+                if (loadedHere) {
+                    refreshChangedWhileLoading();
+                }
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Relit les comptes modifiés pendant le chargement, hors du verrou d'écriture (refresh le reprend)
+     */
+    private void refreshChangedWhileLoading() {
+        List<Long> changed;
+        synchronized (changedWhileLoading) {
+            loading = false;
+            changed = new ArrayList<>(changedWhileLoading);
+            changedWhileLoading.clear();
+        }
+        if (loaded && !changed.isEmpty()) {
+            refresh(changed);
+        }
+    }
+
+    /**
+     * Liste croissante de numéros de document
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.uniflow.service;
 
+import com.uniflow.dto.NamedOption;
+import com.uniflow.event.RoomChangedEvent;
+import com.uniflow.event.SessionChangedEvent;
 import com.uniflow.model.Room;
 import com.uniflow.repository.RoomRepository;
+import com.uniflow.repository.SessionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +20,8 @@ import java.util.Optional;
 public class RoomService {
 
     private final RoomRepository roomRepository;
+    private final SessionRepository sessionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Room createRoom(String name, Integer capacity, String type) {
         if (roomRepository.existsByName(name)) {
@@ -27,7 +34,9 @@ public class RoomService {
                 .type(type)
                 .build();
 
-        return roomRepository.save(room);
+        Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomChangedEvent(saved.getId(), saved.getCapacity()));
+        return saved;
     }
 
     public Room updateRoom(Long id, String name, Integer capacity) {
@@ -41,11 +50,17 @@ public class RoomService {
         room.setName(name);
         room.setCapacity(capacity);
 
-        return roomRepository.save(room);
+        Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomChangedEvent(id, saved.getCapacity()));
+        return saved;
     }
 
     public void deleteRoom(Long id) {
+        // Les sessions de la salle partent avec elle (cascade)
+        sessionRepository.findSlotsByRoomId(id)
+                .forEach(session -> eventPublisher.publishEvent(new SessionChangedEvent(session, null)));
         roomRepository.deleteById(id);
+        eventPublisher.publishEvent(new RoomChangedEvent(id, null));
     }
 
     @Transactional(readOnly = true)
@@ -57,4 +72,12 @@ public class RoomService {
     public List<Room> findAll() {
         return roomRepository.findAll();
     }
+
+    /**
+     * Identifiant et nom de chaque salle, par nom (filtres des listes)
+     */
+    @Transactional(readOnly = true)
+    public List<NamedOption> findOptions() {
+        return roomRepository.findOptions();
+    }
 }
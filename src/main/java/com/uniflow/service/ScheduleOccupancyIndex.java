@@ -0,0 +1,455 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.EnrollmentLink;
+import com.uniflow.dto.ScheduleSnapshot;
+import com.uniflow.dto.SessionSlot;
+import com.uniflow.dto.SlotConflicts;
+import com.uniflow.dto.StudentGroupLink;
+import com.uniflow.event.EnrollmentChangedEvent;
+import com.uniflow.event.RoomChangedEvent;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.event.StudentChangedEvent;
+import com.uniflow.event.StudentsImportedEvent;
+import com.uniflow.model.Room;
+import com.uniflow.repository.EnrollmentRepository;
+import com.uniflow.repository.RoomRepository;
+import com.uniflow.repository.SessionRepository;
+import com.uniflow.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Index en mémoire de l'occupation des créneaux.
+ * Pour chaque créneau, un bitset par dimension (enseignants, salles, groupes, étudiants)
+ * permet de valider une session par quelques tests de bits, sans aller-retour SQL.
+ * L'index est chargé à la première utilisation puis tenu à jour après chaque commit.
+ * Les suppressions en cascade (module, groupe, salle, créneau) lui parviennent comme des suppressions
+ * de sessions, d'inscriptions et d'étudiants, publiées avant le DELETE.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScheduleOccupancyIndex {
+
+    private final SessionRepository sessionRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final RoomRepository roomRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, SessionSlot> sessions = new HashMap<>();
+    private final Map<Long, TimeslotOccupancy> timeslots = new HashMap<>();
+    private final Map<Long, BitSet> studentsByModule = new HashMap<>();
+    private final Map<Long, BitSet> studentsByGroup = new HashMap<>();
+    private final Map<Long, Integer> roomCapacities = new HashMap<>();
+    private volatile boolean loaded;
+    private volatile ScheduleSnapshot snapshot;
+
+    // ========================================
+    // LECTURE
+    // ========================================
+
+    /**
+     * Dimensions du créneau déjà prises par une autre session que {@code excludeSessionId},
+     * en une seule lecture de l'index
+     */
+    public SlotConflicts findSlotConflicts(Long roomId, Long teacherId, Long groupId, Long timeslotId,
+                                           Long excludeSessionId) {
+        return read(() -> {
+            TimeslotOccupancy slot = timeslots.get(timeslotId);
+            if (slot == null) {
+                return SlotConflicts.NONE;
+            }
+            return new SlotConflicts(
+                slot.rooms.get(bit(roomId)) && slot.isHeldByOther(excludeSessionId, s -> s.roomId().equals(roomId)),
+                slot.teachers.get(bit(teacherId)) && slot.isHeldByOther(excludeSessionId, s -> s.teacherId().equals(teacherId)),
+                slot.groups.get(bit(groupId)) && slot.isHeldByOther(excludeSessionId, s -> s.groupId().equals(groupId)));
+        });
+    }
+
+    /**
+     * Capacité connue d'une salle, ou {@code null} si la salle est inconnue de l'index
+     */
+    public Integer getRoomCapacity(Long roomId) {
+        return read(() -> roomCapacities.get(roomId));
+    }
+
+    public int getGroupSize(Long groupId) {
+        return read(() -> {
+            BitSet students = studentsByGroup.get(groupId);
+            return students != null ? students.cardinality() : 0;
+        });
+    }
+
+    /**
+     * Étudiants du groupe déjà occupés à ce créneau par une session d'un autre groupe
+     * (via leurs inscriptions aux modules des sessions existantes).
+     */
+    public List<Long> findConflictingStudents(Long groupId, Long timeslotId, Long excludeSessionId) {
+        return read(() -> {
+            BitSet groupStudents = studentsByGroup.get(groupId);
+            TimeslotOccupancy slot = timeslots.get(timeslotId);
+            if (groupStudents == null || slot == null) {
+                return List.of();
+            }
+
+            BitSet busy = excludeSessionId == null && !slot.groups.get(bit(groupId))
+                ? slot.students
+                : slot.studentsExcluding(groupId, excludeSessionId);
+
+            BitSet conflicting = (BitSet) groupStudents.clone();
+            conflicting.and(busy);
+            return toIds(conflicting);
+        });
+    }
+
+    /**
+     * Salles libres et assez grandes pour le groupe, par créneau, sur les créneaux où l'enseignant,
+     * le groupe et ses étudiants sont disponibles. Les salles sont triées par capacité croissante.
+     */
+    public Map<Long, List<Long>> findFreeRooms(Long teacherId, Long groupId, List<Long> timeslotIds) {
+        return read(() -> {
+            BitSet groupStudents = studentsByGroup.getOrDefault(groupId, new BitSet());
+            int groupSize = groupStudents.cardinality();
+            List<Long> candidateRooms = roomCapacities.entrySet().stream()
+                .filter(room -> room.getValue() >= groupSize)
+                .sorted(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .toList();
+
+            Map<Long, List<Long>> freeRooms = new LinkedHashMap<>();
+            for (Long timeslotId : timeslotIds) {
+                TimeslotOccupancy slot = timeslots.get(timeslotId);
+                if (slot == null) {
+                    freeRooms.put(timeslotId, candidateRooms);
+                    continue;
+                }
+                if (slot.teachers.get(bit(teacherId)) || slot.groups.get(bit(groupId))
+                        || groupStudents.intersects(slot.students)) {
+                    continue;
+                }
+                List<Long> rooms = candidateRooms.stream()
+                    .filter(roomId -> !slot.rooms.get(bit(roomId)))
+                    .toList();
+                if (!rooms.isEmpty()) {
+                    freeRooms.put(timeslotId, rooms);
+                }
+            }
+            return freeRooms;
+        });
+    }
+
+    /**
+     * Copie des étudiants inscrits à chacun des modules demandés
+     */
+    public Map<Long, BitSet> copyStudentsByModule(Collection<Long> moduleIds) {
+        return read(() -> {
+            Map<Long, BitSet> copy = new HashMap<>();
+            for (Long moduleId : moduleIds) {
+                BitSet students = studentsByModule.get(moduleId);
+                if (students != null) {
+                    copy.put(moduleId, (BitSet) students.clone());
+                }
+            }
+            return copy;
+        });
+    }
+
+    /**
+     * Copie des étudiants de chacun des groupes demandés
+     */
+    public Map<Long, BitSet> copyStudentsByGroup(Collection<Long> groupIds) {
+        return read(() -> {
+            Map<Long, BitSet> copy = new HashMap<>();
+            for (Long groupId : groupIds) {
+                BitSet students = studentsByGroup.get(groupId);
+                if (students != null) {
+                    copy.put(groupId, (BitSet) students.clone());
+                }
+            }
+            return copy;
+        });
+    }
+
+    /**
+     * Photographie immuable de l'index, reconstruite au plus une fois entre deux modifications
+     */
+    public ScheduleSnapshot snapshot() {
+        ScheduleSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        return read(() -> {
+            if (snapshot == null) {
+                Map<Long, List<SessionSlot>> byTimeslot = new HashMap<>();
+                timeslots.forEach((timeslotId, slot) -> byTimeslot.put(timeslotId, List.copyOf(slot.entries)));
+                snapshot = new ScheduleSnapshot(
+                    Map.copyOf(sessions),
+                    Map.copyOf(byTimeslot),
+                    deepCopy(studentsByModule),
+                    deepCopy(studentsByGroup),
+                    Map.copyOf(roomCapacities));
+            }
+            return snapshot;
+        });
+    }
+
+    /**
+     * Créneaux où le module a au moins une session
+     */
+    public Set<Long> findTimeslotsOfModule(Long moduleId) {
+        return read(() -> sessions.values().stream()
+            .filter(s -> s.moduleId().equals(moduleId))
+            .map(SessionSlot::timeslotId)
+            .collect(Collectors.toSet()));
+    }
+
+    // ========================================
+    // MISE À JOUR
+    // ========================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onSessionChanged(SessionChangedEvent event) {
+        write(() -> {
+            if (event.before() != null) {
+                removeSession(event.before().id());
+            }
+            if (event.after() != null) {
+                addSession(event.after());
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        write(() -> {
+            BitSet students = studentsByModule.computeIfAbsent(event.moduleId(), id -> new BitSet());
+            students.set(bit(event.studentId()), event.enrolled());
+            timeslots.values().stream()
+                .filter(slot -> slot.hasModule(event.moduleId()))
+                .forEach(TimeslotOccupancy::recomputeStudents);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onStudentChanged(StudentChangedEvent event) {
+        write(() -> {
+            int student = bit(event.studentId());
+            if (event.previousGroupId() != null) {
+                BitSet previous = studentsByGroup.get(event.previousGroupId());
+                if (previous != null) {
+                    previous.clear(student);
+                }
+            }
+            if (event.removed()) {
+                studentsByModule.values().forEach(students -> students.clear(student));
+                timeslots.values().forEach(TimeslotOccupancy::recomputeStudents);
+            } else if (event.groupId() != null) {
+                studentsByGroup.computeIfAbsent(event.groupId(), id -> new BitSet()).set(student);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onStudentsImported(StudentsImportedEvent event) {
+        write(() -> event.students().forEach(link ->
+            studentsByGroup.computeIfAbsent(link.groupId(), id -> new BitSet()).set(bit(link.studentId()))));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(0)
+    public void onRoomChanged(RoomChangedEvent event) {
+        write(() -> {
+            if (event.capacity() == null) {
+                roomCapacities.remove(event.roomId());
+            } else {
+                roomCapacities.put(event.roomId(), event.capacity());
+            }
+        });
+    }
+
+    /**
+     * Recharge entièrement l'index depuis la base (quatre requêtes de projection)
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            load();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        sessions.clear();
+        timeslots.clear();
+        studentsByModule.clear();
+        studentsByGroup.clear();
+        roomCapacities.clear();
+
+        for (EnrollmentLink link : enrollmentRepository.findAllLinks()) {
+            studentsByModule.computeIfAbsent(link.moduleId(), id -> new BitSet()).set(bit(link.studentId()));
+        }
+        for (StudentGroupLink link : studentRepository.findAllGroupLinks()) {
+            studentsByGroup.computeIfAbsent(link.groupId(), id -> new BitSet()).set(bit(link.studentId()));
+        }
+        for (Room room : roomRepository.findAll()) {
+            roomCapacities.put(room.getId(), room.getCapacity());
+        }
+        sessionRepository.findAllSlots().forEach(this::addSession);
+
+        snapshot = null;
+        loaded = true;
+        log.info("Schedule occupancy index loaded: {} sessions over {} timeslots", sessions.size(), timeslots.size());
+    }
+
+    private void addSession(SessionSlot session) {
+        sessions.put(session.id(), session);
+        timeslots.computeIfAbsent(session.timeslotId(), id -> new TimeslotOccupancy()).add(session);
+    }
+
+    private void removeSession(Long sessionId) {
+        SessionSlot session = sessions.remove(sessionId);
+        if (session != null) {
+            TimeslotOccupancy slot = timeslots.get(session.timeslotId());
+            if (slot != null) {
+                slot.remove(sessionId);
+            }
+        }
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        if (!loaded) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    load();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable writer) {
+        lock.writeLock().lock();
+        try {
+            // Tant que l'index n'est pas chargé, le prochain chargement lira l'état validé
+            if (loaded) {
+                writer.run();
+                snapshot = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int bit(Long id) {
+        return Math.toIntExact(id);
+    }
+
+    private static Map<Long, BitSet> deepCopy(Map<Long, BitSet> source) {
+        Map<Long, BitSet> copy = new HashMap<>();
+        source.forEach((id, bits) -> copy.put(id, (BitSet) bits.clone()));
+        return Map.copyOf(copy);
+    }
+
+    private static List<Long> toIds(BitSet bits) {
+        List<Long> ids = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            ids.add((long) i);
+        }
+        return ids;
+    }
+
+    /**
+     * Occupation d'un créneau : les sessions qui s'y déroulent et un bitset par dimension
+     */
+    private class TimeslotOccupancy {
+        private final List<SessionSlot> entries = new ArrayList<>();
+        private final BitSet teachers = new BitSet();
+        private final BitSet rooms = new BitSet();
+        private final BitSet groups = new BitSet();
+        private final BitSet students = new BitSet();
+
+        void add(SessionSlot session) {
+            entries.add(session);
+            teachers.set(bit(session.teacherId()));
+            rooms.set(bit(session.roomId()));
+            groups.set(bit(session.groupId()));
+            BitSet enrolled = studentsByModule.get(session.moduleId());
+            if (enrolled != null) {
+                students.or(enrolled);
+            }
+        }
+
+        void remove(Long sessionId) {
+            entries.removeIf(s -> s.id().equals(sessionId));
+            teachers.clear();
+            rooms.clear();
+            groups.clear();
+            for (SessionSlot s : entries) {
+                teachers.set(bit(s.teacherId()));
+                rooms.set(bit(s.roomId()));
+                groups.set(bit(s.groupId()));
+            }
+            recomputeStudents();
+        }
+
+        void recomputeStudents() {
+            students.clear();
+            students.or(studentsExcluding(null, null));
+        }
+
+        boolean hasModule(Long moduleId) {
+            return entries.stream().anyMatch(s -> s.moduleId().equals(moduleId));
+        }
+
+        boolean isHeldByOther(Long excludeSessionId, Predicate<SessionSlot> holds) {
+            if (excludeSessionId == null) {
+                return true;
+            }
+            return entries.stream().anyMatch(s -> !s.id().equals(excludeSessionId) && holds.test(s));
+        }
+
+        BitSet studentsExcluding(Long groupId, Long excludeSessionId) {
+            BitSet busy = new BitSet();
+            for (SessionSlot s : entries) {
+                if (s.groupId().equals(groupId) || s.id().equals(excludeSessionId)) {
+                    continue;
+                }
+                BitSet enrolled = studentsByModule.get(s.moduleId());
+                if (enrolled != null) {
+                    busy.or(enrolled);
+                }
+            }
+            return busy;
+        }
+    }
+}
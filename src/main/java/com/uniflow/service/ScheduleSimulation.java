@@ -0,0 +1,179 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.ScheduleSnapshot;
+import com.uniflow.dto.SessionSlot;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Emploi du temps simulé : une surcouche copy-on-write au-dessus d'une photographie partagée.
+ * Seules les sessions modifiées sont copiées ; les conflits ne sont recalculés que pour
+ * les créneaux touchés, avec les règles de {@link ConflictDetectionService}.
+ */
+public class ScheduleSimulation {
+
+    private final ScheduleSnapshot base;
+    private final Map<Long, SessionSlot> overlay = new LinkedHashMap<>();
+    private final Set<Long> touchedTimeslots = new TreeSet<>();
+
+    public ScheduleSimulation(ScheduleSnapshot base) {
+        this.base = base;
+    }
+
+    public SessionSlot get(Long sessionId) {
+        SessionSlot session = overlay.containsKey(sessionId) ? overlay.get(sessionId) : base.sessions().get(sessionId);
+        if (session == null) {
+            throw new IllegalArgumentException("Session not found: " + sessionId);
+        }
+        return session;
+    }
+
+    /**
+     * Déplace une session ; un créneau ou une salle {@code null} reste inchangé
+     */
+    public void move(Long sessionId, Long timeslotId, Long roomId) {
+        SessionSlot current = get(sessionId);
+        put(new SessionSlot(current.id(), current.moduleId(), current.teacherId(), current.groupId(),
+            roomId != null ? roomId : current.roomId(),
+            timeslotId != null ? timeslotId : current.timeslotId()));
+    }
+
+    /**
+     * Échange créneaux et salles de deux sessions
+     */
+    public void swap(Long firstSessionId, Long secondSessionId) {
+        SessionSlot first = get(firstSessionId);
+        SessionSlot second = get(secondSessionId);
+        move(first.id(), second.timeslotId(), second.roomId());
+        move(second.id(), first.timeslotId(), first.roomId());
+    }
+
+    /**
+     * Sessions modifiées, dans leur état simulé (hors modifications revenues à l'état initial)
+     */
+    public List<SessionSlot> getChanges() {
+        return overlay.values().stream()
+            .filter(session -> !session.equals(base.sessions().get(session.id())))
+            .toList();
+    }
+
+    /**
+     * Créneaux quittés ou rejoints par au moins une session
+     */
+    public Set<Long> getTouchedTimeslots() {
+        return Collections.unmodifiableSet(touchedTimeslots);
+    }
+
+    /**
+     * Vrai si les créneaux touchés portent les mêmes sessions dans la photographie donnée
+     * que dans celle de la simulation
+     */
+    public boolean isCurrent(ScheduleSnapshot current) {
+        if (current == base) {
+            return true;
+        }
+        for (Long timeslotId : touchedTimeslots) {
+            if (!Set.copyOf(base.sessionsByTimeslot().getOrDefault(timeslotId, List.of()))
+                    .equals(Set.copyOf(current.sessionsByTimeslot().getOrDefault(timeslotId, List.of())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Conflits des créneaux touchés par la simulation
+     */
+    public List<String> findConflicts() {
+        List<String> conflicts = new ArrayList<>();
+        for (Long timeslotId : touchedTimeslots) {
+            List<SessionSlot> sessions = sessionsAt(timeslotId);
+            for (int i = 0; i < sessions.size(); i++) {
+                SessionSlot session1 = sessions.get(i);
+                for (int j = i + 1; j < sessions.size(); j++) {
+                    addPairConflicts(conflicts, timeslotId, session1, sessions.get(j));
+                }
+            }
+        }
+
+        // Capacité : seules les sessions déplacées peuvent avoir changé de salle
+        for (SessionSlot session : getChanges()) {
+            Integer capacity = base.roomCapacities().get(session.roomId());
+            int groupSize = cardinality(base.studentsByGroup().get(session.groupId()));
+            if (capacity != null && groupSize > capacity) {
+                conflicts.add(String.format("Capacité : la salle %d (%d places) ne peut accueillir le groupe %d (%d étudiants) de la session %d",
+                    session.roomId(), capacity, session.groupId(), groupSize, session.id()));
+            }
+        }
+        return conflicts;
+    }
+
+    private void addPairConflicts(List<String> conflicts, Long timeslotId, SessionSlot session1, SessionSlot session2) {
+        String pair = String.format("sessions %d et %d au créneau %d", session1.id(), session2.id(), timeslotId);
+        if (session1.roomId().equals(session2.roomId())) {
+            conflicts.add("Conflit de salle " + session1.roomId() + " : " + pair);
+        }
+        if (session1.teacherId().equals(session2.teacherId())) {
+            conflicts.add("Conflit d'enseignant " + session1.teacherId() + " : " + pair);
+        }
+        if (session1.groupId().equals(session2.groupId())) {
+            conflicts.add("Conflit de groupe " + session1.groupId() + " : " + pair);
+        } else {
+            // Même règle qu'à la création : étudiants d'un groupe inscrits au module de l'autre session
+            int affected = commonStudents(session1, session2).cardinality();
+            if (affected > 0) {
+                conflicts.add(String.format("Conflit d'étudiants (%d étudiants affectés) : %s", affected, pair));
+            }
+        }
+    }
+
+    private BitSet commonStudents(SessionSlot session1, SessionSlot session2) {
+        BitSet common = attending(session1.groupId(), session2.moduleId());
+        common.or(attending(session2.groupId(), session1.moduleId()));
+        return common;
+    }
+
+    private BitSet attending(Long groupId, Long moduleId) {
+        BitSet group = base.studentsByGroup().get(groupId);
+        BitSet enrolled = base.studentsByModule().get(moduleId);
+        if (group == null || enrolled == null) {
+            return new BitSet();
+        }
+        BitSet common = (BitSet) group.clone();
+        common.and(enrolled);
+        return common;
+    }
+
+    private List<SessionSlot> sessionsAt(Long timeslotId) {
+        List<SessionSlot> sessions = new ArrayList<>();
+        for (SessionSlot session : base.sessionsByTimeslot().getOrDefault(timeslotId, List.of())) {
+            if (!overlay.containsKey(session.id())) {
+                sessions.add(session);
+            }
+        }
+        for (SessionSlot session : overlay.values()) {
+            if (session.timeslotId().equals(timeslotId)) {
+                sessions.add(session);
+            }
+        }
+        return sessions;
+    }
+
+    private void put(SessionSlot session) {
+        SessionSlot previous = get(session.id());
+        touchedTimeslots.add(previous.timeslotId());
+        touchedTimeslots.add(session.timeslotId());
+        overlay.put(session.id(), session);
+    }
+
+    private static int cardinality(BitSet bits) {
+        return bits != null ? bits.cardinality() : 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.ScheduleChangeSet;
+import com.uniflow.dto.SessionMove;
+import com.uniflow.dto.SessionSlot;
+import com.uniflow.dto.SessionSwap;
+import com.uniflow.dto.SimulationResult;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.model.Session;
+import com.uniflow.repository.RoomRepository;
+import com.uniflow.repository.SessionRepository;
+import com.uniflow.repository.TimeslotRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Simulation de déplacements et d'échanges de sessions.
+ * Chaque simulation travaille sur une surcouche de la photographie de l'index d'occupation,
+ * sans accès à la base ; l'application verrouille les créneaux touchés puis enregistre l'ensemble
+ * en une transaction, contraintes d'unicité différées jusqu'au commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ScheduleSimulationService {
+
+    private final SessionRepository sessionRepository;
+    private final RoomRepository roomRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final ScheduleOccupancyIndex occupancyIndex;
+    private final TimeslotLocks timeslotLocks;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public SimulationResult simulate(ScheduleChangeSet changeSet) {
+        ScheduleSimulation simulation = replay(changeSet);
+        return new SimulationResult(simulation.getChanges(), simulation.findConflicts(), false);
+    }
+
+    /**
+     * Applique l'ensemble des modifications s'il ne crée aucun conflit ; sinon rien n'est enregistré
+     */
+    public SimulationResult apply(ScheduleChangeSet changeSet) {
+        // Verrouille en une fois les créneaux quittés et rejoints ; si l'un d'eux a changé
+        // entre la photographie et le verrouillage, la tentative est rejouée par ConcurrencyRetry
+        ScheduleSimulation simulation = replay(changeSet);
+        timeslotLocks.lock(simulation.getTouchedTimeslots());
+        if (!simulation.isCurrent(occupancyIndex.snapshot())) {
+            throw new ConcurrencyFailureException("Timetable changed while locking timeslots");
+        }
+        List<SessionSlot> changes = simulation.getChanges();
+        List<String> conflicts = simulation.findConflicts();
+        if (!conflicts.isEmpty() || changes.isEmpty()) {
+            return new SimulationResult(changes, conflicts, false);
+        }
+
+        // Un échange traverse un état où deux sessions partagent salle ou créneau
+        sessionRepository.deferTimetableConstraints();
+
+        Map<Long, Session> sessions = sessionRepository.findAllById(changes.stream().map(SessionSlot::id).toList())
+            .stream()
+            .collect(Collectors.toMap(Session::getId, Function.identity()));
+        List<SessionChangedEvent> events = new ArrayList<>();
+        for (SessionSlot change : changes) {
+            Session session = sessions.get(change.id());
+            if (session == null) {
+                throw new IllegalArgumentException("Session not found: " + change.id());
+            }
+            SessionSlot before = SessionSlot.of(session);
+            session.setRoom(roomRepository.getReferenceById(change.roomId()));
+            session.setTimeslot(timeslotRepository.getReferenceById(change.timeslotId()));
+            events.add(new SessionChangedEvent(before, change));
+        }
+        sessionRepository.flush();
+        events.forEach(eventPublisher::publishEvent);
+
+        return new SimulationResult(changes, conflicts, true);
+    }
+
+    private ScheduleSimulation replay(ScheduleChangeSet changeSet) {
+        validateTargets(changeSet);
+
+        ScheduleSimulation simulation = new ScheduleSimulation(occupancyIndex.snapshot());
+        for (SessionMove move : changeSet.moves()) {
+            simulation.move(move.sessionId(), move.timeslotId(), move.roomId());
+        }
+        for (SessionSwap swap : changeSet.swaps()) {
+            simulation.swap(swap.firstSessionId(), swap.secondSessionId());
+        }
+        return simulation;
+    }
+
+    /**
+     * Vérifie en une requête par table que les salles et créneaux cibles existent
+     */
+    private void validateTargets(ScheduleChangeSet changeSet) {
+        Set<Long> roomIds = changeSet.moves().stream()
+            .map(SessionMove::roomId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> timeslotIds = changeSet.moves().stream()
+            .map(SessionMove::timeslotId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+
+        if (!roomIds.isEmpty() && roomRepository.findAllById(roomIds).size() != roomIds.size()) {
+            throw new IllegalArgumentException("Room not found among: " + roomIds);
+        }
+        if (!timeslotIds.isEmpty() && timeslotRepository.findAllById(timeslotIds).size() != timeslotIds.size()) {
+            throw new IllegalArgumentException("Timeslot not found among: " + timeslotIds);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.SessionBatchResult;
+import com.uniflow.dto.SessionDefinition;
+import com.uniflow.dto.SessionSlot;
+import com.uniflow.dto.SlotConflicts;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.model.Group;
+import com.uniflow.model.Module;
+import com.uniflow.model.Room;
+import com.uniflow.model.Session;
+import com.uniflow.model.Teacher;
+import com.uniflow.model.Timeslot;
+import com.uniflow.repository.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Création de sessions en lot.
+ * Tout le lot est validé en mémoire, contre l'emploi du temps existant (index d'occupation)
+ * et contre lui-même ; il n'est enregistré, en une seule transaction, que s'il ne contient aucune erreur.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class SessionBatchService {
+
+    private final SessionRepository sessionRepository;
+    private final ModuleRepository moduleRepository;
+    private final TeacherRepository teacherRepository;
+    private final GroupRepository groupRepository;
+    private final RoomRepository roomRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final ScheduleOccupancyIndex occupancyIndex;
+    private final TimeslotLocks timeslotLocks;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public SessionBatchResult createSessions(List<SessionDefinition> definitions) {
+        if (definitions == null || definitions.isEmpty()) {
+            return new SessionBatchResult(0, List.of("Le lot ne contient aucune session."));
+        }
+
+        // Une requête par table référencée, quel que soit le nombre de sessions
+        Map<Long, Module> modules = loadAll(moduleRepository, definitions, SessionDefinition::moduleId, Module::getId);
+        Map<Long, Teacher> teachers = loadAll(teacherRepository, definitions, SessionDefinition::teacherId, Teacher::getId);
+        Map<Long, Group> groups = loadAll(groupRepository, definitions, SessionDefinition::groupId, Group::getId);
+        Map<Long, Room> rooms = loadAll(roomRepository, definitions, SessionDefinition::roomId, Room::getId);
+        Map<Long, Timeslot> timeslots = loadAll(timeslotRepository, definitions, SessionDefinition::timeslotId, Timeslot::getId);
+
+        timeslotLocks.lock(timeslots.keySet());
+        Map<Long, BitSet> studentsByGroup = occupancyIndex.copyStudentsByGroup(groups.keySet());
+        Map<Long, BitSet> studentsByModule = occupancyIndex.copyStudentsByModule(modules.keySet());
+
+        List<String> errors = new ArrayList<>();
+        Map<Long, List<SessionDefinition>> acceptedByTimeslot = new HashMap<>();
+        for (int i = 0; i < definitions.size(); i++) {
+            SessionDefinition definition = definitions.get(i);
+            String prefix = "Ligne " + (i + 1) + " : ";
+
+            List<String> missing = findMissingReferences(definition, modules, teachers, groups, rooms, timeslots);
+            if (!missing.isEmpty()) {
+                missing.forEach(message -> errors.add(prefix + message));
+                continue;
+            }
+
+            List<SessionDefinition> sameTimeslot =
+                acceptedByTimeslot.computeIfAbsent(definition.timeslotId(), id -> new ArrayList<>());
+            List<String> conflicts = findConflicts(definition, sameTimeslot, teachers, groups, rooms,
+                studentsByGroup, studentsByModule);
+            if (conflicts.isEmpty()) {
+                sameTimeslot.add(definition);
+            } else {
+                conflicts.forEach(message -> errors.add(prefix + message));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            return new SessionBatchResult(0, errors);
+        }
+
+        List<Session> sessions = definitions.stream()
+            .map(definition -> Session.builder()
+                .type(definition.type())
+                .module(modules.get(definition.moduleId()))
+                .teacher(teachers.get(definition.teacherId()))
+                .group(groups.get(definition.groupId()))
+                .room(rooms.get(definition.roomId()))
+                .timeslot(timeslots.get(definition.timeslotId()))
+                .build())
+            .toList();
+        sessionRepository.saveAll(sessions)
+            .forEach(saved -> eventPublisher.publishEvent(new SessionChangedEvent(null, SessionSlot.of(saved))));
+
+        return new SessionBatchResult(sessions.size(), List.of());
+    }
+
+    private List<String> findMissingReferences(SessionDefinition definition,
+                                               Map<Long, Module> modules, Map<Long, Teacher> teachers,
+                                               Map<Long, Group> groups, Map<Long, Room> rooms,
+                                               Map<Long, Timeslot> timeslots) {
+        List<String> messages = new ArrayList<>();
+        if (definition.type() == null) {
+            messages.add("Type de session manquant.");
+        }
+        if (!modules.containsKey(definition.moduleId())) {
+            messages.add("Module introuvable : " + definition.moduleId());
+        }
+        if (!teachers.containsKey(definition.teacherId())) {
+            messages.add("Enseignant introuvable : " + definition.teacherId());
+        }
+        if (!groups.containsKey(definition.groupId())) {
+            messages.add("Groupe introuvable : " + definition.groupId());
+        }
+        if (!rooms.containsKey(definition.roomId())) {
+            messages.add("Salle introuvable : " + definition.roomId());
+        }
+        if (!timeslots.containsKey(definition.timeslotId())) {
+            messages.add("Créneau introuvable : " + definition.timeslotId());
+        }
+        return messages;
+    }
+
+    /**
+     * Conflits d'une définition avec l'emploi du temps existant et avec les sessions
+     * du lot déjà retenues sur le même créneau
+     */
+    private List<String> findConflicts(SessionDefinition definition, List<SessionDefinition> sameTimeslot,
+                                       Map<Long, Teacher> teachers, Map<Long, Group> groups, Map<Long, Room> rooms,
+                                       Map<Long, BitSet> studentsByGroup, Map<Long, BitSet> studentsByModule) {
+        List<String> messages = new ArrayList<>();
+        Long timeslotId = definition.timeslotId();
+        Teacher teacher = teachers.get(definition.teacherId());
+        Group group = groups.get(definition.groupId());
+        Room room = rooms.get(definition.roomId());
+
+        SlotConflicts taken = occupancyIndex.findSlotConflicts(room.getId(), teacher.getId(), group.getId(), timeslotId, null);
+        if (taken.teacher() || sameTimeslot.stream().anyMatch(other -> other.teacherId().equals(teacher.getId()))) {
+            messages.add("L'enseignant " + teacher.getFirstName() + " " + teacher.getLastName()
+                + " a déjà un cours programmé à ce créneau.");
+        }
+        if (taken.group() || sameTimeslot.stream().anyMatch(other -> other.groupId().equals(group.getId()))) {
+            messages.add("Le groupe " + group.getName() + " a déjà un cours programmé à ce créneau.");
+        }
+        if (taken.room() || sameTimeslot.stream().anyMatch(other -> other.roomId().equals(room.getId()))) {
+            messages.add("La salle " + room.getName() + " est déjà occupée à ce créneau.");
+        }
+
+        BitSet groupStudents = studentsByGroup.getOrDefault(group.getId(), new BitSet());
+        if (groupStudents.cardinality() > room.getCapacity()) {
+            messages.add(String.format("La salle %s (capacité: %d) ne peut accueillir le groupe %s (%d étudiants).",
+                room.getName(), room.getCapacity(), group.getName(), groupStudents.cardinality()));
+        }
+
+        // Étudiants du groupe déjà pris à ce créneau, dans l'existant ou dans le lot
+        Set<Long> conflictingStudents = new HashSet<>(
+            occupancyIndex.findConflictingStudents(group.getId(), timeslotId, null));
+        for (SessionDefinition other : sameTimeslot) {
+            BitSet enrolled = studentsByModule.get(other.moduleId());
+            if (enrolled != null && !other.groupId().equals(group.getId())) {
+                BitSet common = (BitSet) groupStudents.clone();
+                common.and(enrolled);
+                common.stream().forEach(student -> conflictingStudents.add((long) student));
+            }
+        }
+        if (!conflictingStudents.isEmpty()) {
+            messages.add(conflictingStudents.size() + " étudiant(s) du groupe " + group.getName()
+                + " ont déjà un cours à ce créneau.");
+        }
+        return messages;
+    }
+
+    private static <T> Map<Long, T> loadAll(JpaRepository<T, Long> repository, List<SessionDefinition> definitions,
+                                            Function<SessionDefinition, Long> idOf, Function<T, Long> entityId) {
+        Set<Long> ids = definitions.stream()
+            .map(idOf)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        return repository.findAllById(ids).stream()
+            .collect(Collectors.toMap(entityId, Function.identity()));
+    }
+}
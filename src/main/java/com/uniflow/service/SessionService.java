@@ -1,15 +1,32 @@
 package com.uniflow.service;
 
+import com.uniflow.dto.KeysetPage;
+import com.uniflow.dto.SessionSlot;
+import com.uniflow.dto.SlotConflicts;
+import com.uniflow.dto.SlotSuggestion;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.model.Module;
+import com.uniflow.model.Room;
 import com.uniflow.model.Session;
+import com.uniflow.model.Timeslot;
 import com.uniflow.model.enums.SessionTypeEnum;
 import com.uniflow.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,75 +40,69 @@ public class SessionService {
     private final RoomRepository roomRepository;
     private final TimeslotRepository timeslotRepository;
     private final ConflictDetectionService conflictDetectionService;
+    private final ScheduleOccupancyIndex occupancyIndex;
+    private final TimeslotLocks timeslotLocks;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Session createSession(SessionTypeEnum type, Long moduleId, Long teacherId,
                                   Long groupId, Long roomId, Long timeslotId) {
-        // Validation préalable des conflits
+        // Validation préalable des conflits, créneau verrouillé jusqu'à la fin de la transaction
+        timeslotLocks.lock(List.of(timeslotId));
         validateConflictsBeforeCreation(teacherId, groupId, roomId, timeslotId);
-        
-        try {
-            Session session = Session.builder()
-                    .type(type)
-                    .module(moduleRepository.findById(moduleId)
-                            .orElseThrow(() -> new IllegalArgumentException("Module not found: " + moduleId)))
-                    .teacher(teacherRepository.findById(teacherId)
-                            .orElseThrow(() -> new IllegalArgumentException("Teacher not found: " + teacherId)))
-                    .group(groupRepository.findById(groupId)
-                            .orElseThrow(() -> new IllegalArgumentException("Group not found: " + groupId)))
-                    .room(roomRepository.findById(roomId)
-                            .orElseThrow(() -> new IllegalArgumentException("Room not found: " + roomId)))
-                    .timeslot(timeslotRepository.findById(timeslotId)
-                            .orElseThrow(() -> new IllegalArgumentException("Timeslot not found: " + timeslotId)))
-                    .build();
-
-            return sessionRepository.save(session);
-        } catch (DataIntegrityViolationException e) {
-            String message = e.getMessage();
-            if (message.contains("uq_session_room_timeslot")) {
-                throw new IllegalArgumentException("Conflict: Room is already booked for this timeslot");
-            } else if (message.contains("uq_session_teacher_timeslot")) {
-                throw new IllegalArgumentException("Conflict: Teacher is already scheduled for this timeslot");
-            } else if (message.contains("uq_session_group_timeslot")) {
-                throw new IllegalArgumentException("Conflict: Group is already scheduled for this timeslot");
-            }
-            throw new IllegalArgumentException("Timetable conflict occurred: " + e.getMessage());
-        }
+
+        Session session = Session.builder()
+                .type(type)
+                .module(moduleRepository.findById(moduleId)
+                        .orElseThrow(() -> new IllegalArgumentException("Module not found: " + moduleId)))
+                .teacher(teacherRepository.findById(teacherId)
+                        .orElseThrow(() -> new IllegalArgumentException("Teacher not found: " + teacherId)))
+                .group(groupRepository.findById(groupId)
+                        .orElseThrow(() -> new IllegalArgumentException("Group not found: " + groupId)))
+                .room(roomRepository.findById(roomId)
+                        .orElseThrow(() -> new IllegalArgumentException("Room not found: " + roomId)))
+                .timeslot(timeslotRepository.findById(timeslotId)
+                        .orElseThrow(() -> new IllegalArgumentException("Timeslot not found: " + timeslotId)))
+                .build();
+
+        Session saved = saveChecked(session);
+        eventPublisher.publishEvent(new SessionChangedEvent(null, SessionSlot.of(saved)));
+        return saved;
     }
 
     public Session updateSession(Long id, SessionTypeEnum type, Long moduleId, Long teacherId,
                                   Long groupId, Long roomId, Long timeslotId) {
         Session session = sessionRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Session not found: " + id));
+        SessionSlot before = SessionSlot.of(session);
 
-        try {
-            session.setType(type);
-            session.setModule(moduleRepository.findById(moduleId)
-                    .orElseThrow(() -> new IllegalArgumentException("Module not found: " + moduleId)));
-            session.setTeacher(teacherRepository.findById(teacherId)
-                    .orElseThrow(() -> new IllegalArgumentException("Teacher not found: " + teacherId)));
-            session.setGroup(groupRepository.findById(groupId)
-                    .orElseThrow(() -> new IllegalArgumentException("Group not found: " + groupId)));
-            session.setRoom(roomRepository.findById(roomId)
-                    .orElseThrow(() -> new IllegalArgumentException("Room not found: " + roomId)));
-            session.setTimeslot(timeslotRepository.findById(timeslotId)
-                    .orElseThrow(() -> new IllegalArgumentException("Timeslot not found: " + timeslotId)));
-
-            return sessionRepository.save(session);
-        } catch (DataIntegrityViolationException e) {
-            String message = e.getMessage();
-            if (message.contains("uq_session_room_timeslot")) {
-                throw new IllegalArgumentException("Conflict: Room is already booked for this timeslot");
-            } else if (message.contains("uq_session_teacher_timeslot")) {
-                throw new IllegalArgumentException("Conflict: Teacher is already scheduled for this timeslot");
-            } else if (message.contains("uq_session_group_timeslot")) {
-                throw new IllegalArgumentException("Conflict: Group is already scheduled for this timeslot");
-            }
-            throw new IllegalArgumentException("Timetable conflict occurred: " + e.getMessage());
-        }
+        // Ancien et nouveau créneau verrouillés ; une modification concurrente de la même
+        // session est détectée au commit par la version
+        timeslotLocks.lock(List.of(before.timeslotId(), timeslotId));
+        validateSessionUpdate(id, teacherId, groupId, roomId, timeslotId);
+
+        session.setType(type);
+        session.setModule(moduleRepository.findById(moduleId)
+                .orElseThrow(() -> new IllegalArgumentException("Module not found: " + moduleId)));
+        session.setTeacher(teacherRepository.findById(teacherId)
+                .orElseThrow(() -> new IllegalArgumentException("Teacher not found: " + teacherId)));
+        session.setGroup(groupRepository.findById(groupId)
+                .orElseThrow(() -> new IllegalArgumentException("Group not found: " + groupId)));
+        session.setRoom(roomRepository.findById(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("Room not found: " + roomId)));
+        session.setTimeslot(timeslotRepository.findById(timeslotId)
+                .orElseThrow(() -> new IllegalArgumentException("Timeslot not found: " + timeslotId)));
+
+        Session saved = saveChecked(session);
+        eventPublisher.publishEvent(new SessionChangedEvent(before, SessionSlot.of(saved)));
+        return saved;
     }
 
     public void deleteSession(Long id) {
-        sessionRepository.deleteById(id);
+        sessionRepository.findById(id).ifPresent(session -> {
+            SessionSlot before = SessionSlot.of(session);
+            sessionRepository.delete(session);
+            eventPublisher.publishEvent(new SessionChangedEvent(before, null));
+        });
     }
 
     @Transactional(readOnly = true)
@@ -109,6 +120,16 @@ public class SessionService {
         return sessionRepository.findAllWithRelations();
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<Session> findListPage(String program, Long groupId, Long teacherId, Long roomId, String day,
+                                            Long after, int size) {
+        List<Session> sessions = sessionRepository.findListPage(
+                StringUtils.hasText(program) ? program.trim() : null, groupId, teacherId, roomId,
+                StringUtils.hasText(day) ? day.trim() : null,
+                KeysetPage.start(after), KeysetPage.limit(size));
+        return KeysetPage.of(sessions, size, Session::getId);
+    }
+
     @Transactional(readOnly = true)
     public List<Session> findByGroupId(Long groupId) {
         return sessionRepository.findByGroupIdOrderByTimeslot(groupId);
@@ -119,121 +140,134 @@ public class SessionService {
         return sessionRepository.findByTeacherIdOrderByTimeslot(teacherId);
     }
 
+    /**
+     * Créneaux et salles où la session passerait toutes les vérifications de
+     * {@link #validateConflictsBeforeCreation}, les salles les plus ajustées au groupe en premier.
+     * Sans enseignant précisé, le responsable du module est utilisé.
+     */
+    @Transactional(readOnly = true)
+    public List<SlotSuggestion> suggestSlots(Long moduleId, Long teacherId, Long groupId, int limit) {
+        Module module = moduleRepository.findById(moduleId)
+                .orElseThrow(() -> new IllegalArgumentException("Module not found: " + moduleId));
+        if (teacherId == null) {
+            if (module.getResponsibleTeacher() == null) {
+                throw new IllegalArgumentException("Module has no responsible teacher: " + module.getName());
+            }
+            teacherId = module.getResponsibleTeacher().getId();
+        }
+
+        List<Timeslot> timeslots = timeslotRepository.findAllByOrderByDayOfWeekAscStartTimeAsc();
+        Map<Long, Timeslot> timeslotsById = timeslots.stream()
+                .collect(Collectors.toMap(Timeslot::getId, Function.identity()));
+        Map<Long, Room> roomsById = roomRepository.findAll().stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        int groupSize = occupancyIndex.getGroupSize(groupId);
+
+        List<SlotSuggestion> suggestions = new ArrayList<>();
+        occupancyIndex.findFreeRooms(teacherId, groupId, timeslots.stream().map(Timeslot::getId).toList())
+                .forEach((timeslotId, roomIds) -> roomIds.stream()
+                        .map(roomsById::get)
+                        .filter(room -> room != null)
+                        .forEach(room -> suggestions.add(new SlotSuggestion(
+                                timeslotsById.get(timeslotId), room, room.getCapacity() - groupSize))));
+
+        // Tri stable : à ajustement égal, l'ordre chronologique des créneaux est conservé
+        return suggestions.stream()
+                .sorted(Comparator.comparingInt(SlotSuggestion::freeSeats))
+                .limit(limit)
+                .toList();
+    }
+
     // ========================================
     // GESTION AVANCÉE DES CONFLITS
     // ========================================
 
     private void validateConflictsBeforeCreation(Long teacherId, Long groupId, Long roomId, Long timeslotId) {
-        validateTeacherAvailability(teacherId, timeslotId);
-        validateGroupAvailability(groupId, timeslotId);
-        validateRoomAvailability(roomId, timeslotId);
+        validateSlotAvailability(teacherId, groupId, roomId, timeslotId, null);
         validateRoomCapacity(roomId, groupId);
         
         // Validation avancée des conflits d'étudiants
         conflictDetectionService.validateStudentScheduleConflicts(groupId, timeslotId);
     }
 
-    private void validateTeacherAvailability(Long teacherId, Long timeslotId) {
-        List<Session> teacherSessions = sessionRepository.findByTeacherIdAndTimeslotId(teacherId, timeslotId);
-        if (!teacherSessions.isEmpty()) {
-            String teacherName = teacherRepository.findById(teacherId)
-                .map(t -> t.getFirstName() + " " + t.getLastName())
-                .orElse("Enseignant ID: " + teacherId);
-            throw new IllegalArgumentException(
-                "Conflit détecté : L'enseignant " + teacherName + " a déjà un cours programmé à ce créneau.");
+    /**
+     * Méthode utilitaire pour vérifier les conflits avant mise à jour
+     */
+    public void validateSessionUpdate(Long sessionId, Long teacherId, Long groupId, Long roomId, Long timeslotId) {
+        // Exclure la session actuelle des vérifications de conflit
+        validateSlotAvailability(teacherId, groupId, roomId, timeslotId, sessionId);
+        validateRoomCapacity(roomId, groupId);
+    }
+
+    // Les trois disponibilités sont lues ensemble dans l'index d'occupation ; la base n'est
+    // interrogée que pour nommer les ressources en conflit.
+
+    private void validateSlotAvailability(Long teacherId, Long groupId, Long roomId, Long timeslotId,
+                                          Long excludeSessionId) {
+        SlotConflicts conflicts = occupancyIndex.findSlotConflicts(roomId, teacherId, groupId, timeslotId, excludeSessionId);
+        if (conflicts.any()) {
+            throw new IllegalArgumentException(describeConflicts(conflicts,
+                () -> teacherRepository.findById(teacherId)
+                    .map(t -> t.getFirstName() + " " + t.getLastName())
+                    .orElse("Enseignant ID: " + teacherId),
+                () -> groupRepository.findById(groupId).map(g -> g.getName()).orElse("Groupe ID: " + groupId),
+                () -> roomRepository.findById(roomId).map(r -> r.getName()).orElse("Salle ID: " + roomId)));
         }
     }
 
-    private void validateGroupAvailability(Long groupId, Long timeslotId) {
-        List<Session> groupSessions = sessionRepository.findByGroupIdAndTimeslotId(groupId, timeslotId);
-        if (!groupSessions.isEmpty()) {
-            String groupName = groupRepository.findById(groupId)
-                .map(g -> g.getName())
-                .orElse("Groupe ID: " + groupId);
-            throw new IllegalArgumentException(
-                "Conflit détecté : Le groupe " + groupName + " a déjà un cours programmé à ce créneau.");
+    /**
+     * Écrit la session sans attendre le commit. Une session concurrente que l'index ne connaît pas
+     * encore (écrite par une autre instance) est ainsi rejetée ici par les contraintes d'unicité,
+     * dont le nom donne directement la dimension en conflit.
+     */
+    private Session saveChecked(Session session) {
+        try {
+            return sessionRepository.saveAndFlush(session);
+        } catch (DataIntegrityViolationException e) {
+            SlotConflicts conflicts = e.getCause() instanceof ConstraintViolationException violation
+                    ? SlotConflicts.ofConstraint(violation.getConstraintName())
+                    : null;
+            if (conflicts == null) {
+                throw new IllegalArgumentException("Timetable conflict occurred: " + e.getMostSpecificCause().getMessage());
+            }
+            // Transaction interrompue : les noms sont pris sur les entités déjà chargées
+            throw new IllegalArgumentException(describeConflicts(conflicts,
+                    () -> session.getTeacher().getFirstName() + " " + session.getTeacher().getLastName(),
+                    () -> session.getGroup().getName(),
+                    () -> session.getRoom().getName()));
         }
     }
 
-    private void validateRoomAvailability(Long roomId, Long timeslotId) {
-        List<Session> roomSessions = sessionRepository.findByRoomIdAndTimeslotId(roomId, timeslotId);
-        if (!roomSessions.isEmpty()) {
-            String roomName = roomRepository.findById(roomId)
-                .map(r -> r.getName())
-                .orElse("Salle ID: " + roomId);
-            throw new IllegalArgumentException(
-                "Conflit détecté : La salle " + roomName + " est déjà occupée à ce créneau.");
+    private static String describeConflicts(SlotConflicts conflicts, Supplier<String> teacherName,
+                                            Supplier<String> groupName, Supplier<String> roomName) {
+        List<String> details = new ArrayList<>();
+        if (conflicts.teacher()) {
+            details.add("l'enseignant " + teacherName.get() + " a déjà un cours programmé");
+        }
+        if (conflicts.group()) {
+            details.add("le groupe " + groupName.get() + " a déjà un cours programmé");
         }
+        if (conflicts.room()) {
+            details.add("la salle " + roomName.get() + " est déjà occupée");
+        }
+        return "Conflit détecté à ce créneau : " + String.join(", ", details) + ".";
     }
 
     private void validateRoomCapacity(Long roomId, Long groupId) {
-        var room = roomRepository.findById(roomId).orElse(null);
-        var group = groupRepository.findById(groupId).orElse(null);
-        
-        if (room == null || group == null) {
+        Integer capacity = occupancyIndex.getRoomCapacity(roomId);
+        if (capacity == null) {
             return;
         }
 
         // Compter les étudiants dans le groupe
-        long studentCount = group.getStudents().size();
+        long studentCount = occupancyIndex.getGroupSize(groupId);
         
-        if (studentCount > room.getCapacity()) {
+        if (studentCount > capacity) {
+            String roomName = roomRepository.findById(roomId).map(r -> r.getName()).orElse("ID: " + roomId);
+            String groupName = groupRepository.findById(groupId).map(g -> g.getName()).orElse("ID: " + groupId);
             throw new IllegalArgumentException(
                 String.format("Conflit de capacité : La salle %s (capacité: %d) ne peut accueillir le groupe %s (%d étudiants).",
-                    room.getName(), room.getCapacity(), group.getName(), studentCount));
-        }
-    }
-
-    /**
-     * Méthode utilitaire pour vérifier les conflits avant mise à jour
-     */
-    public void validateSessionUpdate(Long sessionId, Long teacherId, Long groupId, Long roomId, Long timeslotId) {
-        // Exclure la session actuelle des vérifications de conflit
-        validateTeacherAvailabilityExcluding(teacherId, timeslotId, sessionId);
-        validateGroupAvailabilityExcluding(groupId, timeslotId, sessionId);
-        validateRoomAvailabilityExcluding(roomId, timeslotId, sessionId);
-        validateRoomCapacity(roomId, groupId);
-    }
-
-    private void validateTeacherAvailabilityExcluding(Long teacherId, Long timeslotId, Long excludeSessionId) {
-        List<Session> teacherSessions = sessionRepository.findByTeacherIdAndTimeslotId(teacherId, timeslotId)
-            .stream()
-            .filter(s -> !s.getId().equals(excludeSessionId))
-            .toList();
-        if (!teacherSessions.isEmpty()) {
-            String teacherName = teacherRepository.findById(teacherId)
-                .map(t -> t.getFirstName() + " " + t.getLastName())
-                .orElse("Enseignant ID: " + teacherId);
-            throw new IllegalArgumentException(
-                "Conflit détecté : L'enseignant " + teacherName + " a déjà un cours programmé à ce créneau.");
-        }
-    }
-
-    private void validateGroupAvailabilityExcluding(Long groupId, Long timeslotId, Long excludeSessionId) {
-        List<Session> groupSessions = sessionRepository.findByGroupIdAndTimeslotId(groupId, timeslotId)
-            .stream()
-            .filter(s -> !s.getId().equals(excludeSessionId))
-            .toList();
-        if (!groupSessions.isEmpty()) {
-            String groupName = groupRepository.findById(groupId)
-                .map(g -> g.getName())
-                .orElse("Groupe ID: " + groupId);
-            throw new IllegalArgumentException(
-                "Conflit détecté : Le groupe " + groupName + " a déjà un cours programmé à ce créneau.");
-        }
-    }
-
-    private void validateRoomAvailabilityExcluding(Long roomId, Long timeslotId, Long excludeSessionId) {
-        List<Session> roomSessions = sessionRepository.findByRoomIdAndTimeslotId(roomId, timeslotId)
-            .stream()
-            .filter(s -> !s.getId().equals(excludeSessionId))
-            .toList();
-        if (!roomSessions.isEmpty()) {
-            String roomName = roomRepository.findById(roomId)
-                .map(r -> r.getName())
-                .orElse("Salle ID: " + roomId);
-            throw new IllegalArgumentException(
-                "Conflit détecté : La salle " + roomName + " est déjà occupée à ce créneau.");
+                    roomName, capacity, groupName, studentCount));
         }
     }
 }
@@ -1,13 +1,24 @@
 package com.uniflow.service;
 
+import com.uniflow.dto.KeysetPage;
+import com.uniflow.dto.PersonSummary;
+import com.uniflow.dto.StudentListItem;
+import com.uniflow.event.GradeChangedEvent;
+import com.uniflow.event.PeopleChangedEvent;
+import com.uniflow.event.StudentChangedEvent;
+import com.uniflow.model.Group;
 import com.uniflow.model.Student;
 import com.uniflow.model.User;
 import com.uniflow.model.enums.RoleEnum;
+import com.uniflow.repository.GradeRepository;
 import com.uniflow.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,9 +29,12 @@ import java.util.Optional;
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final GradeRepository gradeRepository;
     private final UserService userService;
     @Lazy
     private final GroupService groupService;
+    private final PersonSearchIndex personSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Student createStudent(String email, String password, String firstName, String lastName,
                                    String program, String level, String skills, Long groupId) {
@@ -38,13 +52,17 @@ public class StudentService {
                 .group(groupId != null ? groupService.findById(groupId).orElse(null) : null)
                 .build();
 
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(new StudentChangedEvent(saved.getId(), null, groupIdOf(saved), false));
+        eventPublisher.publishEvent(PeopleChangedEvent.of(saved.getId()));
+        return saved;
     }
 
     public Student updateStudent(Long id, String firstName, String lastName, String program,
                                    String level, String skills, Long groupId) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Student not found: " + id));
+        Long previousGroupId = groupIdOf(student);
 
         student.setFirstName(firstName);
         student.setLastName(lastName);
@@ -53,11 +71,22 @@ public class StudentService {
         student.setSkills(skills);
         student.setGroup(groupId != null ? groupService.findById(groupId).orElse(null) : null);
 
-        return studentRepository.save(student);
+        Student saved = studentRepository.save(student);
+        eventPublisher.publishEvent(new StudentChangedEvent(id, previousGroupId, groupIdOf(saved), false));
+        eventPublisher.publishEvent(PeopleChangedEvent.of(id));
+        return saved;
     }
 
     public void deleteStudent(Long id) {
-        studentRepository.deleteById(id);
+        studentRepository.findById(id).ifPresent(student -> {
+            Long previousGroupId = groupIdOf(student);
+            // Les notes partent avec les inscriptions (cascade)
+            gradeRepository.findScoresByStudentId(id)
+                    .forEach(grade -> eventPublisher.publishEvent(new GradeChangedEvent(grade, null, null)));
+            studentRepository.delete(student);
+            eventPublisher.publishEvent(new StudentChangedEvent(id, previousGroupId, null, true));
+            eventPublisher.publishEvent(PeopleChangedEvent.of(id));
+        });
     }
 
     @Transactional(readOnly = true)
@@ -75,13 +104,30 @@ public class StudentService {
         return studentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public KeysetPage<StudentListItem> findListPage(String program, String level, Long groupId, Long after, int size) {
+        List<StudentListItem> items = studentRepository.findListItems(
+                StringUtils.hasText(program) ? program.trim() : null,
+                StringUtils.hasText(level) ? level.trim() : null,
+                groupId, KeysetPage.start(after), KeysetPage.limit(size));
+        return KeysetPage.of(items, size, StudentListItem::id);
+    }
+
     @Transactional(readOnly = true)
     public List<Student> findByGroupId(Long groupId) {
         return studentRepository.findByGroupId(groupId);
     }
 
+    /**
+     * Recherche classée par nom, prénom ou email (voir PersonSearchIndex)
+     */
     @Transactional(readOnly = true)
-    public List<Student> searchStudents(String query) {
-        return studentRepository.searchStudents(query);
+    public Page<PersonSummary> searchStudents(String query, int page, int size) {
+        return personSearchIndex.search(query, RoleEnum.STUDENT, page, size);
+    }
+
+    private static Long groupIdOf(Student student) {
+        Group group = student.getGroup();
+        return group != null ? group.getId() : null;
     }
 }
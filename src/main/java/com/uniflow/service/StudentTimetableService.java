@@ -0,0 +1,202 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.SessionSlot;
+import com.uniflow.dto.StudentGroupLink;
+import com.uniflow.event.EnrollmentChangedEvent;
+import com.uniflow.event.ModuleGroupsChangedEvent;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.event.StudentChangedEvent;
+import com.uniflow.event.StudentsImportedEvent;
+import com.uniflow.model.Session;
+import com.uniflow.repository.StudentTimetableRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Emploi du temps de chaque étudiant : sessions de son groupe et des modules suivis hors de son groupe,
+ * matérialisé dans la table student_timetable pour être lu en une requête indexée.
+ * Les changements d'une transaction sont regroupés puis appliqués après son commit, en une seule transaction :
+ * seules les lignes des sessions, modules ou étudiants concernés sont recalculées, quel que soit le nombre
+ * d'événements (génération, création en lot) ; les suppressions de sessions et d'étudiants sont propagées
+ * par la base (ON DELETE CASCADE).
+ * Une table vide est remplie au démarrage ; un administrateur peut la recalculer pour corriger un écart.
+ */
+@Service
+@Slf4j
+public class StudentTimetableService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final StudentTimetableRepository studentTimetableRepository;
+    private final TransactionTemplate writeTransaction;
+
+    public StudentTimetableService(StudentTimetableRepository studentTimetableRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.studentTimetableRepository = studentTimetableRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Sessions de l'étudiant, par jour puis heure de début
+     */
+    @Transactional(readOnly = true)
+    public List<Session> findTimetable(Long studentId) {
+        return studentTimetableRepository.findSessionsByStudentId(studentId);
+    }
+
+    /**
+     * Recalcule la table entière (données chargées hors de l'application, écart constaté) ; renvoie le nombre de lignes
+     */
+    @Transactional
+    public int rebuild() {
+        studentTimetableRepository.deleteAllEntries();
+        int entries = studentTimetableRepository.insertAllEntries();
+        log.info("Student timetables rebuilt: {} entries", entries);
+        return entries;
+    }
+
+    /**
+     * Remplit la table au démarrage si elle est vide (première mise en place sur des données existantes)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        writeTransaction.executeWithoutResult(status -> {
+            if (!studentTimetableRepository.hasEntries()) {
+                rebuild();
+            }
+        });
+    }
+
+    // ========================================
+    // MISE À JOUR APRÈS COMMIT
+    // ========================================
+
+    @EventListener
+    public void onSessionChanged(SessionChangedEvent event) {
+        SessionSlot before = event.before();
+        SessionSlot after = event.after();
+        if (after == null) {
+            return;
+        }
+        // Un changement de salle, d'enseignant ou de créneau ne change pas les participants
+        if (before != null && Objects.equals(before.groupId(), after.groupId())
+                && Objects.equals(before.moduleId(), after.moduleId())) {
+            return;
+        }
+        enqueue(refresh -> {
+            refresh.sessions.add(after.id());
+            if (before != null) {
+                refresh.movedSessions.add(after.id());
+            }
+        });
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        enqueue(refresh -> refresh.students.add(event.studentId()));
+    }
+
+    @EventListener
+    public void onModuleGroupsChanged(ModuleGroupsChangedEvent event) {
+        enqueue(refresh -> refresh.modules.add(event.moduleId()));
+    }
+
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (!event.removed() && !Objects.equals(event.previousGroupId(), event.groupId())) {
+            enqueue(refresh -> refresh.students.add(event.studentId()));
+        }
+    }
+
+    @EventListener
+    public void onStudentsImported(StudentsImportedEvent event) {
+        enqueue(refresh -> event.students().stream().map(StudentGroupLink::studentId).forEach(refresh.importedStudents::add));
+    }
+
+    /**
+     * Ajoute un changement au lot de la transaction courante ; hors transaction, il est appliqué aussitôt
+     */
+    private void enqueue(Consumer<PendingRefresh> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            PendingRefresh refresh = new PendingRefresh();
+            change.accept(refresh);
+            apply(refresh);
+            return;
+        }
+        PendingRefresh refresh = (PendingRefresh) TransactionSynchronizationManager.getResource(this);
+        if (refresh == null) {
+            refresh = new PendingRefresh();
+            TransactionSynchronizationManager.bindResource(this, refresh);
+            TransactionSynchronizationManager.registerSynchronization(refresh);
+        }
+        change.accept(refresh);
+    }
+
+    /**
+     * Applique un lot en une transaction. Chaque mise à jour ajoute les lignes manquantes puis retire
+     * les lignes périmées : l'ordre des étapes est indifférent.
+     */
+    private void apply(PendingRefresh refresh) {
+        writeTransaction.executeWithoutResult(status -> {
+            inChunks(refresh.sessions, studentTimetableRepository::addSessionEntries);
+            inChunks(refresh.movedSessions, studentTimetableRepository::removeStaleSessionEntries);
+            inChunks(refresh.modules, studentTimetableRepository::addModuleEntries);
+            inChunks(refresh.modules, studentTimetableRepository::removeStaleModuleEntries);
+            // Un étudiant importé n'a encore aucune ligne : rien à retirer
+            refresh.importedStudents.removeAll(refresh.students);
+            inChunks(refresh.importedStudents, studentTimetableRepository::addStudentEntries);
+            inChunks(refresh.students, studentTimetableRepository::addStudentEntries);
+            inChunks(refresh.students, studentTimetableRepository::removeStaleStudentEntries);
+        });
+    }
+
+    private static void inChunks(Set<Long> ids, Function<Collection<Long>, Integer> update) {
+        List<Long> list = new ArrayList<>(ids);
+        for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+            update.apply(list.subList(from, Math.min(list.size(), from + CHUNK_SIZE)));
+        }
+    }
+
+    /**
+     * Sessions, modules et étudiants touchés par une transaction ; appliqués après son commit
+     */
+    private class PendingRefresh implements TransactionSynchronization {
+        private final Set<Long> sessions = new LinkedHashSet<>();
+        private final Set<Long> movedSessions = new LinkedHashSet<>();
+        private final Set<Long> modules = new LinkedHashSet<>();
+        private final Set<Long> students = new LinkedHashSet<>();
+        private final Set<Long> importedStudents = new LinkedHashSet<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(StudentTimetableService.this);
+            if (status != STATUS_COMMITTED) {
+                return;
+            }
+            try {
+                apply(this);
+            } catch (RuntimeException e) {
+                log.error("Student timetable refresh failed ({} sessions, {} modules, {} students); rebuild to repair",
+                        sessions.size(), modules.size(), students.size() + importedStudents.size(), e);
+            }
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package com.uniflow.service;
 
+import com.uniflow.dto.KeysetPage;
+import com.uniflow.dto.NamedOption;
+import com.uniflow.dto.PersonSummary;
+import com.uniflow.dto.TeacherListItem;
+import com.uniflow.event.PeopleChangedEvent;
 import com.uniflow.model.Teacher;
 import com.uniflow.model.User;
 import com.uniflow.model.enums.RoleEnum;
 import com.uniflow.repository.TeacherRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +26,8 @@ public class TeacherService {
 
     private final TeacherRepository teacherRepository;
     private final UserService userService;
+    private final PersonSearchIndex personSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Teacher createTeacher(String email, String password, String firstName, String lastName,
                                   String grade, String specialty, String skills, Integer workloadHours) {
@@ -35,7 +45,9 @@ public class TeacherService {
                 .workloadHours(workloadHours != null ? workloadHours : 0)
                 .build();
 
-        return teacherRepository.save(teacher);
+        Teacher saved = teacherRepository.save(teacher);
+        eventPublisher.publishEvent(PeopleChangedEvent.of(saved.getId()));
+        return saved;
     }
 
     public Teacher updateTeacher(Long id, String firstName, String lastName, String grade,
@@ -52,11 +64,14 @@ public class TeacherService {
             teacher.setWorkloadHours(workloadHours);
         }
 
-        return teacherRepository.save(teacher);
+        Teacher saved = teacherRepository.save(teacher);
+        eventPublisher.publishEvent(PeopleChangedEvent.of(id));
+        return saved;
     }
 
     public void deleteTeacher(Long id) {
         teacherRepository.deleteById(id);
+        eventPublisher.publishEvent(PeopleChangedEvent.of(id));
     }
 
     @Transactional(readOnly = true)
@@ -74,8 +89,32 @@ public class TeacherService {
         return teacherRepository.findAll();
     }
 
+    /**
+     * Enseignant sélectionné dans un filtre, lu dans le cache de second niveau ; {@code null} sans sélection
+     */
     @Transactional(readOnly = true)
-    public List<Teacher> searchTeachers(String query) {
-        return teacherRepository.searchTeachers(query);
+    public NamedOption findOption(Long id) {
+        if (id == null) {
+            return null;
+        }
+        return teacherRepository.findById(id)
+                .map(teacher -> new NamedOption(teacher.getId(), teacher.getFirstName() + " " + teacher.getLastName()))
+                .orElse(null);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetPage<TeacherListItem> findListPage(String specialty, Long after, int size) {
+        List<TeacherListItem> items = teacherRepository.findListItems(
+                StringUtils.hasText(specialty) ? specialty.trim() : null,
+                KeysetPage.start(after), KeysetPage.limit(size));
+        return KeysetPage.of(items, size, TeacherListItem::id);
+    }
+
+    /**
+     * Recherche classée par nom, prénom ou email (voir PersonSearchIndex)
+     */
+    @Transactional(readOnly = true)
+    public Page<PersonSummary> searchTeachers(String query, int page, int size) {
+        return personSearchIndex.search(query, RoleEnum.TEACHER, page, size);
     }
 }
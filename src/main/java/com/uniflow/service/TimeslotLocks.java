@@ -0,0 +1,93 @@
+package com.uniflow.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verrous de créneaux par bandes (lock striping).
+ * Un créneau verrouillé le reste jusqu'à la fin de la transaction, y compris la mise à jour
+ * de l'index d'occupation après commit : la validation suivante voit donc toujours l'état enregistré.
+ * Les bandes sont prises dans l'ordre croissant ; un dépassement du délai d'attente lève une
+ * {@link CannotAcquireLockException}, que {@link ConcurrencyRetry} traite comme un conflit transitoire.
+ */
+@Component
+public class TimeslotLocks {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public TimeslotLocks(@Value("${uniflow.scheduling.lock-stripes:64}") int stripeCount,
+                         @Value("${uniflow.scheduling.lock-timeout-ms:5000}") long timeoutMillis) {
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Verrouille les créneaux jusqu'à la fin de la transaction courante
+     */
+    public void lock(Collection<Long> timeslotIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Timeslot locks require an active transaction");
+        }
+        HeldLocks held = (HeldLocks) TransactionSynchronizationManager.getResource(this);
+        if (held == null) {
+            held = new HeldLocks();
+            TransactionSynchronizationManager.bindResource(this, held);
+            TransactionSynchronizationManager.registerSynchronization(held);
+        }
+
+        int[] indexes = timeslotIds.stream()
+            .filter(Objects::nonNull)
+            .mapToInt(id -> Math.floorMod(id.hashCode(), stripes.length))
+            .distinct()
+            .sorted()
+            .toArray();
+        for (int index : indexes) {
+            ReentrantLock stripe = stripes[index];
+            if (stripe.isHeldByCurrentThread()) {
+                continue;
+            }
+            try {
+                if (!stripe.tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new CannotAcquireLockException("Timed out waiting for a timeslot lock");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotAcquireLockException("Interrupted while waiting for a timeslot lock", e);
+            }
+            held.stripes.add(stripe);
+        }
+    }
+
+    /**
+     * Bandes détenues par la transaction ; libérées après les écouteurs de fin de transaction
+     */
+    private class HeldLocks implements TransactionSynchronization {
+        private final List<ReentrantLock> stripes = new ArrayList<>();
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TimeslotLocks.this);
+            stripes.forEach(ReentrantLock::unlock);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.uniflow.service;
 
+import com.uniflow.event.SessionChangedEvent;
 import com.uniflow.model.Timeslot;
+import com.uniflow.repository.SessionRepository;
 import com.uniflow.repository.TimeslotRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +19,8 @@ import java.util.Optional;
 public class TimeslotService {
 
     private final TimeslotRepository timeslotRepository;
+    private final SessionRepository sessionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public Timeslot createTimeslot(String dayOfWeek, LocalTime startTime, LocalTime endTime) {
         if (startTime.isAfter(endTime) || startTime.equals(endTime)) {
@@ -51,6 +56,9 @@ public class TimeslotService {
     }
 
     public void deleteTimeslot(Long id) {
+        // Les sessions du créneau partent avec lui (cascade)
+        sessionRepository.findSlotsByTimeslotId(id)
+                .forEach(session -> eventPublisher.publishEvent(new SessionChangedEvent(session, null)));
         timeslotRepository.deleteById(id);
     }
 
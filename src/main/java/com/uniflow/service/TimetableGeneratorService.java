@@ -0,0 +1,173 @@
+package com.uniflow.service;
+
+import com.uniflow.dto.ModuleGroupAssignment;
+import com.uniflow.dto.SessionSlot;
+import com.uniflow.dto.TimetableGenerationResult;
+import com.uniflow.event.SessionChangedEvent;
+import com.uniflow.model.Room;
+import com.uniflow.model.Session;
+import com.uniflow.model.Timeslot;
+import com.uniflow.model.enums.SessionTypeEnum;
+import com.uniflow.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Génération automatique des sessions manquantes à partir des affectations module–groupe.
+ * Les sessions existantes sont conservées et traitées comme des contraintes fixes ;
+ * le résultat n'est enregistré (en un seul lot) que s'il est entièrement sans conflit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TimetableGeneratorService {
+
+    private final ModuleRepository moduleRepository;
+    private final TeacherRepository teacherRepository;
+    private final GroupRepository groupRepository;
+    private final RoomRepository roomRepository;
+    private final TimeslotRepository timeslotRepository;
+    private final SessionRepository sessionRepository;
+    private final ScheduleOccupancyIndex occupancyIndex;
+    private final TimeslotLocks timeslotLocks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${uniflow.timetable.workers:0}")
+    private int workers;
+
+    public TimetableGenerationResult generate(SessionTypeEnum type, int sessionsPerAssignment, Duration budget) {
+        List<Room> rooms = roomRepository.findAll().stream()
+            .sorted(Comparator.comparing(Room::getCapacity))
+            .toList();
+        List<Timeslot> timeslots = timeslotRepository.findAllByOrderByDayOfWeekAscStartTimeAsc();
+        if (rooms.isEmpty() || timeslots.isEmpty()) {
+            throw new IllegalArgumentException("Aucune salle ou aucun créneau défini : génération impossible.");
+        }
+
+        Map<Long, Integer> timeslotIndex = indexOf(timeslots.stream().map(Timeslot::getId).toList());
+        Map<Long, Integer> roomIndex = indexOf(rooms.stream().map(Room::getId).toList());
+        Map<Long, Integer> teacherIndex = new HashMap<>();
+        Map<Long, Integer> groupIndex = new HashMap<>();
+
+        List<SessionSlot> existing = sessionRepository.findAllSlots();
+        Map<String, Long> existingCounts = existing.stream()
+            .collect(Collectors.groupingBy(s -> s.moduleId() + ":" + s.groupId(), Collectors.counting()));
+
+        // Cours à placer : une entrée par session manquante de chaque couple module–groupe
+        List<ModuleGroupAssignment> placed = new ArrayList<>();
+        List<TimetableSolver.Lecture> lectures = new ArrayList<>();
+        List<String> skipped = new ArrayList<>();
+        for (ModuleGroupAssignment assignment : moduleRepository.findAllGroupAssignments()) {
+            long missing = sessionsPerAssignment
+                - existingCounts.getOrDefault(assignment.moduleId() + ":" + assignment.groupId(), 0L);
+            if (missing <= 0) {
+                continue;
+            }
+            if (assignment.teacherId() == null) {
+                skipped.add("Module " + assignment.moduleName() + " : aucun enseignant responsable.");
+                continue;
+            }
+
+            int groupSize = occupancyIndex.getGroupSize(assignment.groupId());
+            int[] feasibleRooms = rooms.stream()
+                .filter(room -> room.getCapacity() >= groupSize)
+                .mapToInt(room -> roomIndex.get(room.getId()))
+                .toArray();
+            if (feasibleRooms.length == 0) {
+                skipped.add("Module " + assignment.moduleName() + " : aucune salle assez grande pour "
+                    + groupSize + " étudiants.");
+                continue;
+            }
+
+            int teacher = teacherIndex.computeIfAbsent(assignment.teacherId(), id -> teacherIndex.size());
+            int group = groupIndex.computeIfAbsent(assignment.groupId(), id -> groupIndex.size());
+            for (long i = 0; i < missing; i++) {
+                placed.add(assignment);
+                lectures.add(new TimetableSolver.Lecture(teacher, group, feasibleRooms));
+            }
+        }
+
+        // Les sessions existantes occupent déjà salles, enseignants et groupes
+        int[][] fixedRooms = new int[timeslots.size()][rooms.size()];
+        int[][] fixedTeachers = new int[timeslots.size()][teacherIndex.size()];
+        int[][] fixedGroups = new int[timeslots.size()][groupIndex.size()];
+        for (SessionSlot session : existing) {
+            Integer t = timeslotIndex.get(session.timeslotId());
+            if (t == null) {
+                continue;
+            }
+            Integer r = roomIndex.get(session.roomId());
+            Integer teacher = teacherIndex.get(session.teacherId());
+            Integer group = groupIndex.get(session.groupId());
+            if (r != null) {
+                fixedRooms[t][r]++;
+            }
+            if (teacher != null) {
+                fixedTeachers[t][teacher]++;
+            }
+            if (group != null) {
+                fixedGroups[t][group]++;
+            }
+        }
+
+        TimetableSolver.Problem problem = new TimetableSolver.Problem(
+            timeslots.size(), lectures, fixedRooms, fixedTeachers, fixedGroups);
+        TimetableSolver.Solution solution = new TimetableSolver()
+            .solve(problem, budget, workers > 0 ? workers : Runtime.getRuntime().availableProcessors());
+        log.info("Timetable generation: {} sessions to place, {} violations left", lectures.size(), solution.violations());
+
+        if (solution.violations() > 0) {
+            return new TimetableGenerationResult(0, solution.violations(), skipped);
+        }
+
+        List<Session> sessions = new ArrayList<>(placed.size());
+        transactionTemplate.executeWithoutResult(status -> {
+            // La recherche a tourné sans verrou : les placements sont revérifiés sous verrou avant écriture
+            timeslotLocks.lock(timeslots.stream().map(Timeslot::getId).toList());
+            for (int i = 0; i < placed.size(); i++) {
+                Long timeslotId = timeslots.get(solution.timeslots()[i]).getId();
+                if (occupancyIndex.findSlotConflicts(rooms.get(solution.rooms()[i]).getId(), placed.get(i).teacherId(),
+                        placed.get(i).groupId(), timeslotId, null).any()) {
+                    throw new IllegalArgumentException(
+                        "L'emploi du temps a été modifié pendant la génération ; relancez la génération.");
+                }
+            }
+            for (int i = 0; i < placed.size(); i++) {
+                ModuleGroupAssignment assignment = placed.get(i);
+                sessions.add(Session.builder()
+                    .type(type)
+                    .module(moduleRepository.getReferenceById(assignment.moduleId()))
+                    .teacher(teacherRepository.getReferenceById(assignment.teacherId()))
+                    .group(groupRepository.getReferenceById(assignment.groupId()))
+                    .room(roomRepository.getReferenceById(rooms.get(solution.rooms()[i]).getId()))
+                    .timeslot(timeslotRepository.getReferenceById(timeslots.get(solution.timeslots()[i]).getId()))
+                    .build());
+            }
+            sessionRepository.saveAll(sessions)
+                .forEach(saved -> eventPublisher.publishEvent(new SessionChangedEvent(null, SessionSlot.of(saved))));
+        });
+
+        return new TimetableGenerationResult(sessions.size(), 0, skipped);
+    }
+
+    private static Map<Long, Integer> indexOf(List<Long> ids) {
+        Map<Long, Integer> index = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            index.put(ids.get(i), i);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,250 @@
+package com.uniflow.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+/**
+ * Solveur par recherche tabou pour la génération automatique d'emplois du temps.
+ * Il ne manipule que des indices denses (créneaux, salles, enseignants, groupes) ;
+ * plusieurs recherches indépendantes tournent en parallèle et la meilleure solution est retenue.
+ * Contraintes dures : une salle, un enseignant et un groupe au plus par créneau ;
+ * la capacité des salles est garantie par le domaine de chaque cours.
+ */
+public class TimetableSolver {
+
+    private static final int BASE_TABU_TENURE = 10;
+
+    /**
+     * Cours à placer : enseignant, groupe et salles assez grandes (triées par capacité croissante)
+     */
+    public record Lecture(int teacher, int group, int[] rooms) {
+    }
+
+    /**
+     * Problème à résoudre ; les tableaux {@code fixed*[créneau][indice]} comptent les sessions existantes
+     */
+    public record Problem(int timeslotCount, List<Lecture> lectures,
+                          int[][] fixedRooms, int[][] fixedTeachers, int[][] fixedGroups) {
+    }
+
+    /**
+     * Créneau et salle retenus pour chaque cours, et nombre de violations restantes
+     */
+    public record Solution(int[] timeslots, int[] rooms, int violations) {
+    }
+
+    public Solution solve(Problem problem, Duration budget, int workers) {
+        if (problem.lectures().isEmpty()) {
+            return new Solution(new int[0], new int[0], 0);
+        }
+
+        long deadline = System.nanoTime() + budget.toNanos();
+        AtomicBoolean solved = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Solution>> futures = new ArrayList<>();
+            Random seeds = new Random();
+            for (int i = 0; i < workers; i++) {
+                long seed = seeds.nextLong();
+                futures.add(executor.submit(() -> new Search(problem, seed).run(deadline, solved)));
+            }
+
+            Solution best = null;
+            for (Future<Solution> future : futures) {
+                Solution candidate = future.get();
+                if (best == null || candidate.violations() < best.violations()) {
+                    best = candidate;
+                }
+            }
+            return best;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Timetable generation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Timetable generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Une recherche tabou indépendante. Les compteurs d'usage incluent les sessions existantes ;
+     * une violation est comptée à chaque usage supplémentaire d'une salle, d'un enseignant ou
+     * d'un groupe déjà occupé sur le créneau.
+     */
+    private static final class Search {
+        private final Problem problem;
+        private final List<Lecture> lectures;
+        private final Random random;
+        private final int[] slot;
+        private final int[] room;
+        private final int[][] roomUse;
+        private final int[][] teacherUse;
+        private final int[][] groupUse;
+        private final int[][] tabuUntil;
+        private int violations;
+
+        Search(Problem problem, long seed) {
+            this.problem = problem;
+            this.lectures = problem.lectures();
+            this.random = new Random(seed);
+            this.slot = new int[lectures.size()];
+            this.room = new int[lectures.size()];
+            this.roomUse = deepCopy(problem.fixedRooms());
+            this.teacherUse = deepCopy(problem.fixedTeachers());
+            this.groupUse = deepCopy(problem.fixedGroups());
+            this.tabuUntil = new int[lectures.size()][problem.timeslotCount()];
+        }
+
+        Solution run(long deadline, AtomicBoolean solved) {
+            construct();
+
+            int[] bestSlot = slot.clone();
+            int[] bestRoom = room.clone();
+            int bestViolations = violations;
+
+            for (int iteration = 0; violations > 0 && !solved.get(); iteration++) {
+                if ((iteration & 0xFF) == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                int lecture = pickConflictedLecture();
+                moveToBestSlot(lecture, iteration, bestViolations);
+
+                if (violations < bestViolations) {
+                    bestViolations = violations;
+                    System.arraycopy(slot, 0, bestSlot, 0, slot.length);
+                    System.arraycopy(room, 0, bestRoom, 0, room.length);
+                }
+            }
+
+            if (bestViolations == 0) {
+                solved.set(true);
+            }
+            return new Solution(bestSlot, bestRoom, bestViolations);
+        }
+
+        /**
+         * Placement glouton initial, des cours les plus contraints aux moins contraints
+         */
+        private void construct() {
+            Integer[] order = IntStream.range(0, lectures.size()).boxed().toArray(Integer[]::new);
+            Arrays.sort(order, Comparator.comparingInt(i -> lectures.get(i).rooms().length));
+
+            for (int i : order) {
+                int bestCost = Integer.MAX_VALUE;
+                int bestT = 0;
+                int bestR = 0;
+                for (int t = 0; t < problem.timeslotCount(); t++) {
+                    int r = bestRoomAt(i, t);
+                    int cost = placementCost(i, t, r);
+                    if (cost < bestCost || (cost == bestCost && random.nextBoolean())) {
+                        bestCost = cost;
+                        bestT = t;
+                        bestR = r;
+                    }
+                }
+                place(i, bestT, bestR);
+            }
+        }
+
+        private void moveToBestSlot(int i, int iteration, int bestViolations) {
+            int previousSlot = slot[i];
+            unplace(i);
+
+            int bestCost = Integer.MAX_VALUE;
+            int bestT = previousSlot;
+            int bestR = room[i];
+            for (int t = 0; t < problem.timeslotCount(); t++) {
+                int r = bestRoomAt(i, t);
+                int cost = placementCost(i, t, r);
+                boolean tabu = tabuUntil[i][t] > iteration;
+                // Critère d'aspiration : un mouvement tabou est accepté s'il améliore le meilleur score
+                if (tabu && violations + cost >= bestViolations) {
+                    continue;
+                }
+                if (cost < bestCost || (cost == bestCost && random.nextBoolean())) {
+                    bestCost = cost;
+                    bestT = t;
+                    bestR = r;
+                }
+            }
+
+            place(i, bestT, bestR);
+            tabuUntil[i][previousSlot] = iteration + BASE_TABU_TENURE + random.nextInt(BASE_TABU_TENURE);
+        }
+
+        private int pickConflictedLecture() {
+            int chosen = -1;
+            int seen = 0;
+            for (int i = 0; i < lectures.size(); i++) {
+                if (isConflicted(i) && random.nextInt(++seen) == 0) {
+                    chosen = i;
+                }
+            }
+            return chosen >= 0 ? chosen : random.nextInt(lectures.size());
+        }
+
+        private boolean isConflicted(int i) {
+            Lecture lecture = lectures.get(i);
+            int t = slot[i];
+            return roomUse[t][room[i]] > 1 || teacherUse[t][lecture.teacher()] > 1 || groupUse[t][lecture.group()] > 1;
+        }
+
+        /**
+         * Plus petite salle libre du domaine à ce créneau, sinon une salle quelconque du domaine
+         */
+        private int bestRoomAt(int i, int t) {
+            int[] rooms = lectures.get(i).rooms();
+            for (int r : rooms) {
+                if (roomUse[t][r] == 0) {
+                    return r;
+                }
+            }
+            return rooms[random.nextInt(rooms.length)];
+        }
+
+        private int placementCost(int i, int t, int r) {
+            Lecture lecture = lectures.get(i);
+            return (roomUse[t][r] > 0 ? 1 : 0)
+                + (teacherUse[t][lecture.teacher()] > 0 ? 1 : 0)
+                + (groupUse[t][lecture.group()] > 0 ? 1 : 0);
+        }
+
+        private void place(int i, int t, int r) {
+            violations += placementCost(i, t, r);
+            Lecture lecture = lectures.get(i);
+            slot[i] = t;
+            room[i] = r;
+            roomUse[t][r]++;
+            teacherUse[t][lecture.teacher()]++;
+            groupUse[t][lecture.group()]++;
+        }
+
+        private void unplace(int i) {
+            Lecture lecture = lectures.get(i);
+            int t = slot[i];
+            roomUse[t][room[i]]--;
+            teacherUse[t][lecture.teacher()]--;
+            groupUse[t][lecture.group()]--;
+            violations -= placementCost(i, t, room[i]);
+        }
+
+        private static int[][] deepCopy(int[][] source) {
+            int[][] copy = new int[source.length][];
+            for (int i = 0; i < source.length; i++) {
+                copy[i] = source[i].clone();
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.uniflow.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.uniflow.config.PrimaryTransactions;
+import com.uniflow.dto.GradeStatistics;
+import com.uniflow.dto.Transcript;
+import com.uniflow.dto.TranscriptLine;
+import com.uniflow.dto.TranscriptSemester;
+import com.uniflow.event.EnrollmentChangedEvent;
+import com.uniflow.event.GradeChangedEvent;
+import com.uniflow.event.ModuleChangedEvent;
+import com.uniflow.event.StudentChangedEvent;
+import com.uniflow.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relevé de notes des étudiants : moyenne de chaque semestre et moyenne générale, pondérées par le volume horaire.
+ * Chaque relevé est calculé en une requête puis gardé en cache jusqu'à ce qu'une note, une inscription
+ * ou le compte de l'étudiant change (après commit) ; la modification d'un module vide tout le cache.
+ * Une publication de notes n'invalide donc que les étudiants notés : les autres restent servis sans requête.
+ */
+@Service
+public class TranscriptService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final PrimaryTransactions primaryTransactions;
+    private final Cache<Long, Transcript> transcripts;
+
+    public TranscriptService(EnrollmentRepository enrollmentRepository,
+                             PrimaryTransactions primaryTransactions,
+                             @Value("${uniflow.transcripts.cache-size:50000}") long cacheSize) {
+        this.enrollmentRepository = enrollmentRepository;
+        // Un relevé en cache survit à la requête : il est lu sur la base principale, jamais sur une réplique en retard,
+        // même si la requête en cours a déjà lu sur une réplique (voir PrimaryTransactions)
+        this.primaryTransactions = primaryTransactions;
+        this.transcripts = Caffeine.newBuilder()
+            .maximumSize(cacheSize)
+            .build();
+    }
+
+    /**
+     * Relevé de l'étudiant, depuis le cache ou recalculé.
+     * Une invalidation pendant le calcul attend sa fin puis retire le résultat : aucun relevé périmé n'est conservé.
+     */
+    public Transcript getTranscript(Long studentId) {
+        return transcripts.get(studentId, this::compute);
+    }
+
+    public void invalidate(Long studentId) {
+        transcripts.invalidate(studentId);
+    }
+
+    private Transcript compute(Long studentId) {
+        List<TranscriptLine> lines = primaryTransactions.execute(status -> enrollmentRepository.findTranscriptLines(studentId));
+
+        Map<Integer, List<TranscriptLine>> bySemester = new LinkedHashMap<>();
+        for (TranscriptLine line : lines) {
+            bySemester.computeIfAbsent(line.semester(), semester -> new ArrayList<>()).add(line);
+        }
+
+        List<TranscriptSemester> semesters = new ArrayList<>();
+        WeightedAverage overall = new WeightedAverage();
+        for (Map.Entry<Integer, List<TranscriptLine>> entry : bySemester.entrySet()) {
+            WeightedAverage semester = new WeightedAverage();
+            entry.getValue().forEach(semester::add);
+            entry.getValue().forEach(overall::add);
+            semesters.add(new TranscriptSemester(entry.getKey(), List.copyOf(entry.getValue()),
+                semester.average(), semester.gradedHours, semester.passedHours));
+        }
+        return new Transcript(studentId, List.copyOf(semesters), overall.average(),
+            overall.gradedHours, overall.passedHours, LocalDateTime.now());
+    }
+
+    /**
+     * Moyenne des notes finales pondérée par le volume horaire ; les modules sans note finale n'y entrent pas
+     */
+    private static final class WeightedAverage {
+        private double weightedSum;
+        private long gradedHours;
+        private long passedHours;
+
+        private void add(TranscriptLine line) {
+            if (!line.isGraded()) {
+                return;
+            }
+            int hours = line.volumeHours();
+            weightedSum += line.finalGrade() * hours;
+            gradedHours += hours;
+            if (line.finalGrade() >= GradeStatistics.PASS_MARK) {
+                passedHours += hours;
+            }
+        }
+
+        private Double average() {
+            return gradedHours == 0 ? null : weightedSum / gradedHours;
+        }
+    }
+
+    // ========================================
+    // Invalidation après commit
+    // ========================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeChanged(GradeChangedEvent event) {
+        if (event.before() != null) {
+            invalidate(event.before().studentId());
+        }
+        if (event.after() != null) {
+            invalidate(event.after().studentId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        invalidate(event.studentId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.removed()) {
+            invalidate(event.studentId());
+        }
+    }
+
+    /**
+     * Nom, semestre ou volume horaire d'un module : rare, et les étudiants concernés ne sont pas connus ici
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onModuleChanged(ModuleChangedEvent event) {
+        transcripts.invalidateAll();
+    }
+}
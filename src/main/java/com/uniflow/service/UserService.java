@@ -1,9 +1,11 @@
 package com.uniflow.service;
 
+import com.uniflow.event.PeopleChangedEvent;
 import com.uniflow.model.User;
 import com.uniflow.model.enums.RoleEnum;
 import com.uniflow.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +20,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public User createUser(String email, String password, RoleEnum role) {
         if (userRepository.existsByEmail(email)) {
@@ -47,7 +50,9 @@ public class UserService {
             user.setEnabled(enabled);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(PeopleChangedEvent.of(id));
+        return saved;
     }
 
     public void updatePassword(Long id, String newPassword) {
@@ -60,6 +65,7 @@ public class UserService {
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(PeopleChangedEvent.of(id));
     }
 
     @Transactional(readOnly = true)
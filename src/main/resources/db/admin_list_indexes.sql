@@ -0,0 +1,11 @@
+-- Index des listes d'administration paginées par clé (id croissant) et filtrées :
+-- chaque page lit au plus une page d'index, quelle que soit la taille des tables.
+
+CREATE INDEX IF NOT EXISTS idx_students_group_id_id ON students (group_id, id);
+CREATE INDEX IF NOT EXISTS idx_students_program_level_id ON students (program, level, id);
+CREATE INDEX IF NOT EXISTS idx_teachers_specialty_id ON teachers (specialty, id);
+CREATE INDEX IF NOT EXISTS idx_modules_program_id ON modules (program, id);
+CREATE INDEX IF NOT EXISTS idx_modules_responsible_teacher_id_id ON modules (responsible_teacher_id, id);
+CREATE INDEX IF NOT EXISTS idx_sessions_teacher_id_id ON sessions (teacher_id, id);
+CREATE INDEX IF NOT EXISTS idx_sessions_group_id_id ON sessions (group_id, id);
+CREATE INDEX IF NOT EXISTS idx_sessions_room_id_id ON sessions (room_id, id);
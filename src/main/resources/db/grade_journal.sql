@@ -0,0 +1,40 @@
+-- Journal des notes (voir GradeJournalService) : une ligne par création, modification ou suppression de note,
+-- valeurs avant et après, enseignant et instant du commit. Aucune clé étrangère : l'historique survit à la
+-- suppression de la note, de l'inscription ou de l'étudiant. La table n'accepte que des INSERT.
+
+CREATE SEQUENCE IF NOT EXISTS grade_journal_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS grade_journal (
+    id BIGINT PRIMARY KEY DEFAULT nextval('grade_journal_id_seq'),
+    grade_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    module_id BIGINT NOT NULL,
+    change_type VARCHAR(10) NOT NULL CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED')),
+    teacher_id BIGINT,
+    changed_at TIMESTAMP NOT NULL,
+    old_lab_grade DOUBLE PRECISION,
+    new_lab_grade DOUBLE PRECISION,
+    old_exam_grade DOUBLE PRECISION,
+    new_exam_grade DOUBLE PRECISION,
+    old_project_grade DOUBLE PRECISION,
+    new_project_grade DOUBLE PRECISION,
+    old_participation_grade DOUBLE PRECISION,
+    new_participation_grade DOUBLE PRECISION,
+    old_final_grade DOUBLE PRECISION,
+    new_final_grade DOUBLE PRECISION
+);
+
+-- Historique et reconstitution à une date : par inscription (étudiant, module), dans l'ordre chronologique
+CREATE INDEX IF NOT EXISTS idx_grade_journal_student_module ON grade_journal (student_id, module_id, changed_at);
+
+-- Ajout seul : toute modification ou suppression de ligne est refusée
+CREATE OR REPLACE FUNCTION grade_journal_append_only() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'grade_journal is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS grade_journal_append_only ON grade_journal;
+CREATE TRIGGER grade_journal_append_only
+    BEFORE UPDATE OR DELETE ON grade_journal
+    FOR EACH STATEMENT EXECUTE FUNCTION grade_journal_append_only();
@@ -0,0 +1,4 @@
+-- Verrouillage optimiste des notes (champ @Version de Grade) : la grille d'un module renvoie la version
+-- de chaque note affichée, une ligne modifiée entre-temps par quelqu'un d'autre est refusée
+
+ALTER TABLE grades ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
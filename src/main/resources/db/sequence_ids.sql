@@ -0,0 +1,31 @@
+-- Identifiants attribués par séquence (allocationSize = 50 dans les entités).
+-- Hibernate réserve 50 identifiants par appel à nextval et peut ainsi regrouper les INSERT en lots JDBC.
+-- Les colonnes IDENTITY passent en GENERATED BY DEFAULT pour accepter les identifiants de l'application ;
+-- chaque séquence reprend au-delà du plus grand identifiant existant.
+
+DO $$
+DECLARE
+    t TEXT;
+    seq TEXT;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['users', 'groups', 'modules', 'rooms', 'timeslots', 'enrollments', 'grades', 'sessions'] LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = t
+                     AND column_name = 'id' AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET GENERATED BY DEFAULT', t);
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', t);
+            seq := pg_get_serial_sequence(t, 'id');
+        ELSE
+            seq := pg_get_serial_sequence(t, 'id');
+            IF seq IS NULL THEN
+                EXECUTE format('CREATE SEQUENCE %I INCREMENT BY 50 OWNED BY %I.id', t || '_id_seq', t);
+                seq := t || '_id_seq';
+            ELSE
+                EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+            END IF;
+        END IF;
+
+        -- L'optimiseur "pooled" utilise les 50 valeurs précédant celle renvoyée par nextval
+        EXECUTE format('SELECT setval(%L, COALESCE((SELECT MAX(id) FROM %I), 0) + 50, false)', seq, t);
+    END LOOP;
+END $$;
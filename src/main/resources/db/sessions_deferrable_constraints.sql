@@ -0,0 +1,18 @@
+-- Contraintes d'unicité des sessions vérifiables en fin de transaction.
+-- Elles restent immédiates par défaut (INITIALLY IMMEDIATE) ; seule l'application
+-- d'une simulation les diffère avec SET CONSTRAINTS ... DEFERRED, ce qui permet
+-- d'échanger deux sessions sans état intermédiaire invalide.
+
+BEGIN;
+
+ALTER TABLE sessions
+    DROP CONSTRAINT IF EXISTS uq_session_room_timeslot,
+    DROP CONSTRAINT IF EXISTS uq_session_teacher_timeslot,
+    DROP CONSTRAINT IF EXISTS uq_session_group_timeslot;
+
+ALTER TABLE sessions
+    ADD CONSTRAINT uq_session_room_timeslot UNIQUE (room_id, timeslot_id) DEFERRABLE INITIALLY IMMEDIATE,
+    ADD CONSTRAINT uq_session_teacher_timeslot UNIQUE (teacher_id, timeslot_id) DEFERRABLE INITIALLY IMMEDIATE,
+    ADD CONSTRAINT uq_session_group_timeslot UNIQUE (group_id, timeslot_id) DEFERRABLE INITIALLY IMMEDIATE;
+
+COMMIT;
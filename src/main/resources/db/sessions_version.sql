@@ -0,0 +1,3 @@
+-- Verrouillage optimiste des sessions (champ @Version de Session)
+
+ALTER TABLE sessions ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,26 @@
+-- Emploi du temps matérialisé de chaque étudiant (voir StudentTimetableService) :
+-- sessions de son groupe, et des modules auxquels il est inscrit sans qu'ils soient enseignés à son
+-- groupe (module_groups), lues en une requête par clé primaire.
+-- Les lignes suivent la suppression des sessions et des étudiants ; les index sur module_id des
+-- inscriptions et des sessions servent au recalcul des lignes d'une session ou d'un étudiant.
+
+CREATE TABLE IF NOT EXISTS student_timetable (
+    student_id BIGINT NOT NULL REFERENCES students (id) ON DELETE CASCADE,
+    session_id BIGINT NOT NULL REFERENCES sessions (id) ON DELETE CASCADE,
+    PRIMARY KEY (student_id, session_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_student_timetable_session_id ON student_timetable (session_id);
+CREATE INDEX IF NOT EXISTS idx_enrollments_module_id ON enrollments (module_id);
+CREATE INDEX IF NOT EXISTS idx_sessions_module_id ON sessions (module_id);
+
+-- Remplissage initial ; le script peut être rejoué pour reconstruire la table
+BEGIN;
+DELETE FROM student_timetable;
+INSERT INTO student_timetable (student_id, session_id)
+SELECT st.id, s.id FROM students st JOIN sessions s ON s.group_id = st.group_id
+UNION
+SELECT st.id, s.id FROM students st JOIN enrollments e ON e.student_id = st.id
+JOIN sessions s ON s.module_id = e.module_id
+WHERE NOT EXISTS (SELECT 1 FROM module_groups mg WHERE mg.module_id = s.module_id AND mg.group_id = st.group_id);
+COMMIT;